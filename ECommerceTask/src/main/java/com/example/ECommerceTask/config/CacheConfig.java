@@ -0,0 +1,35 @@
+package com.example.ECommerceTask.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * JCache manager behind the Hibernate second-level cache, one per application
+     * context. The provider's default manager is shared JVM-wide, so two contexts
+     * (e.g. test contexts on different databases) would read and evict each
+     * other's regions. A URI without a config file extension makes Caffeine read
+     * the regions from {@code application.conf} as before.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(
+                URI.create("urn:ecommerce:second-level-cache:" + UUID.randomUUID()),
+                CacheConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ECommerceTask.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Share of the Hikari pool's connections in use, from 0 to 1. Together with
+     * Boot's {@code hikaricp.connections.pending} (threads waiting for a
+     * connection) it shows when the pool, not the database, is the bottleneck.
+     */
+    @Bean
+    public MeterBinder hikariSaturationMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof HikariDataSource hikari) {
+                Gauge.builder("hikaricp.connections.saturation", hikari, MetricsConfig::saturation)
+                        .tag("pool", String.valueOf(hikari.getPoolName()))
+                        .description("Active connections divided by the maximum pool size")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Keeps {@code order.stock.rejections} to a bounded number of series: the
+     * first {@code metrics.stock-rejections.max-products} products to run out
+     * get their own {@code product} tag, later ones are counted under
+     * {@code OTHER}.
+     */
+    @Bean
+    public MeterFilter stockRejectionProductLimit(
+            @Value("${metrics.stock-rejections.max-products:100}") int maxProducts) {
+        return MeterFilter.maximumAllowableTags("order.stock.rejections", "product", maxProducts,
+                MeterFilter.replaceTagValues("product", product -> "OTHER"));
+    }
+
+    private static double saturation(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+}
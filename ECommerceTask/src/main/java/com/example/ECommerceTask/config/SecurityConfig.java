@@ -1,8 +1,12 @@
 package com.example.ECommerceTask.config;
 
 import com.example.ECommerceTask.security.JwtAuthenticationFilter;
+import com.example.ECommerceTask.service.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -20,14 +24,24 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final boolean separateManagementPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, Environment environment) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.separateManagementPort = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT;
     }
 
+    // BCrypt cost calibrated at startup to the target hash latency on this machine
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.target-ms:250}") long targetMs) {
+        return new BCryptPasswordEncoder(PasswordHashingService.calibrateStrength(targetMs));
+    }
+
+    private String[] openActuatorPaths() {
+        return separateManagementPort
+                ? new String[]{"/actuator/health/**", "/actuator/prometheus"}
+                : new String[]{"/actuator/health/**"};
     }
 
     @Bean
@@ -45,6 +59,11 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        // Container health checks and Prometheus scrapes carry no token. The scrape is
+                        // only open while actuator is served on its own port, kept off the public network;
+                        // the other endpoints need an ADMIN token either way
+                        .requestMatchers(openActuatorPaths()).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable())) // For H2 console
@@ -4,10 +4,13 @@ import com.example.ECommerceTask.dto.auth.LoginRequest;
 import com.example.ECommerceTask.dto.auth.LoginResponse;
 import com.example.ECommerceTask.dto.user.UserRequest;
 import com.example.ECommerceTask.dto.user.UserResponse;
+import com.example.ECommerceTask.security.AuthenticatedUser;
 import com.example.ECommerceTask.service.AuthenticationService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -33,5 +36,13 @@ public class AuthenticationController {
         UserResponse response = authenticationService.register(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
+
+    // ---------------- LOGOUT (revokes the presented token) ----------------
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@AuthenticationPrincipal AuthenticatedUser user) {
+        authenticationService.logout(user);
+    }
 }
 
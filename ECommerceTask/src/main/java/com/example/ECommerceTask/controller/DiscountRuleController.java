@@ -0,0 +1,58 @@
+package com.example.ECommerceTask.controller;
+
+import com.example.ECommerceTask.dto.discount.DiscountRuleRequest;
+import com.example.ECommerceTask.dto.discount.DiscountRuleResponse;
+import com.example.ECommerceTask.service.DiscountRuleService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/discount-rules")
+public class DiscountRuleController {
+
+    private final DiscountRuleService discountRuleService;
+
+    public DiscountRuleController(DiscountRuleService discountRuleService) {
+        this.discountRuleService = discountRuleService;
+    }
+
+    // ---------------- CREATE DISCOUNT RULE (Admin only) ----------------
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DiscountRuleResponse> createRule(
+            @Valid @RequestBody DiscountRuleRequest request) {
+
+        DiscountRuleResponse response = discountRuleService.create(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    // ---------------- UPDATE DISCOUNT RULE (Admin only) ----------------
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DiscountRuleResponse> updateRule(
+            @PathVariable Long id,
+            @Valid @RequestBody DiscountRuleRequest request) {
+
+        return ResponseEntity.ok(discountRuleService.update(id, request));
+    }
+
+    // ---------------- DELETE DISCOUNT RULE (Admin only) ----------------
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteRule(@PathVariable Long id) {
+        discountRuleService.delete(id);
+    }
+
+    // ---------------- GET ALL DISCOUNT RULES (Admin only) ----------------
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DiscountRuleResponse>> getAllRules() {
+        return ResponseEntity.ok(discountRuleService.getAll());
+    }
+}
@@ -1,66 +1,137 @@
 package com.example.ECommerceTask.controller;
 
+import com.example.ECommerceTask.domain.Enums.ExportFormat;
+import com.example.ECommerceTask.dto.order.BatchOrderRequest;
+import com.example.ECommerceTask.dto.order.BatchOrderResponse;
+import com.example.ECommerceTask.dto.order.OrderPage;
+import com.example.ECommerceTask.dto.order.OrderQuoteResponse;
 import com.example.ECommerceTask.dto.order.OrderRequest;
 import com.example.ECommerceTask.dto.order.OrderResponse;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.example.ECommerceTask.service.IdempotencyService;
+import com.example.ECommerceTask.service.OptimisticLockRetrier;
 import com.example.ECommerceTask.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OptimisticLockRetrier optimisticLockRetrier;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(
+            OrderService orderService,
+            IdempotencyService idempotencyService,
+            OptimisticLockRetrier optimisticLockRetrier) {
         this.orderService = orderService;
+        this.idempotencyService = idempotencyService;
+        this.optimisticLockRetrier = optimisticLockRetrier;
     }
 
     // ---------------- CREATE ORDER (USER, PREMIUM_USER, ADMIN) ----------------
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'PREMIUM_USER', 'ADMIN')")
     public ResponseEntity<OrderResponse> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody OrderRequest request) {
 
-        String username = getCurrentUsername();
-        OrderResponse response = orderService.create(request, username);
+        AuthenticatedUser user = getCurrentUser();
+        OrderResponse response = idempotencyKey == null
+                ? optimisticLockRetrier.execute("order.create", () -> orderService.create(request, user))
+                : idempotencyService.execute(idempotencyKey, user, request, () -> orderService.create(request, user));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // ---------------- CREATE ORDERS IN BULK (USER, PREMIUM_USER, ADMIN) ----------------
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('USER', 'PREMIUM_USER', 'ADMIN')")
+    public ResponseEntity<BatchOrderResponse> createOrders(
+            @Valid @RequestBody BatchOrderRequest request) {
+
+        AuthenticatedUser user = getCurrentUser();
+        return ResponseEntity.ok(optimisticLockRetrier.execute(
+                "order.batch", () -> orderService.createBatch(request.getOrders(), user)));
+    }
+
+    // ---------------- QUOTE ORDER (USER, PREMIUM_USER, ADMIN) ----------------
+    @PostMapping("/quote")
+    @PreAuthorize("hasAnyRole('USER', 'PREMIUM_USER', 'ADMIN')")
+    public ResponseEntity<OrderQuoteResponse> quoteOrder(
+            @Valid @RequestBody OrderRequest request) {
+
+        return ResponseEntity.ok(orderService.quote(request, getCurrentUser()));
+    }
+
     // ---------------- GET ORDER BY ID (Owner or ADMIN) ----------------
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'PREMIUM_USER', 'ADMIN')")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
-        String username = getCurrentUsername();
-        return ResponseEntity.ok(orderService.getById(id, username));
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id, WebRequest webRequest) {
+        AuthenticatedUser user = getCurrentUser();
+        if (webRequest.checkNotModified(orderService.getETag(id, user))) {
+            return null;
+        }
+        return ResponseEntity.ok(orderService.getById(id, user));
     }
 
     // ---------------- GET USER'S ORDERS (USER, PREMIUM_USER, ADMIN) ----------------
     @GetMapping("/my-orders")
     @PreAuthorize("hasAnyRole('USER', 'PREMIUM_USER', 'ADMIN')")
     public ResponseEntity<List<OrderResponse>> getMyOrders() {
-        String username = getCurrentUsername();
-        return ResponseEntity.ok(orderService.getOrdersByUser(username));
+        AuthenticatedUser user = getCurrentUser();
+        return ResponseEntity.ok(orderService.getOrdersByUser(user));
     }
 
     // ---------------- GET ALL ORDERS (ADMIN only) ----------------
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<List<OrderResponse>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        OrderPage page = orderService.getAllOrders(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    // ---------------- EXPORT ORDERS AS NDJSON OR CSV (ADMIN only) ----------------
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        orderService.exportOrders(since, exportFormat, response.getOutputStream());
     }
 
-    private String getCurrentUsername() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof String) {
-            return (String) authentication.getPrincipal();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
         }
         throw new IllegalStateException("User not authenticated");
     }
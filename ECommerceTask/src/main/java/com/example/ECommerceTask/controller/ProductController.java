@@ -1,21 +1,34 @@
 package com.example.ECommerceTask.controller;
 
+import com.example.ECommerceTask.dto.product.ProductCacheStats;
 import com.example.ECommerceTask.dto.product.ProductRequest;
 import com.example.ECommerceTask.dto.product.ProductResponse;
 import com.example.ECommerceTask.service.ProductService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "price", "quantity", "createdAt");
+    // Largest price the DECIMAL(10,2) column holds; wider filter bounds are rejected rather than converted to cents
+    private static final BigDecimal MAX_PRICE_FILTER = new BigDecimal("99999999.99");
+
     private final ProductService productService;
 
     public ProductController(ProductService productService) {
@@ -50,12 +63,24 @@ public class ProductController {
         productService.delete(id);
     }
 
+    // ---------------- PRODUCT CACHE STATISTICS (Admin only) ----------------
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductCacheStats> getCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
     // ---------------- GET PRODUCT BY ID (All authenticated users) ----------------
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'PREMIUM_USER', 'ADMIN')")
     public ResponseEntity<ProductResponse> getProductById(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
 
+        // 304 is decided from the version and live stock, before the body is built
+        if (webRequest.checkNotModified(productService.getETag(id))) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getById(id));
     }
 
@@ -66,10 +91,45 @@ public class ProductController {
             @RequestParam(required = false) String name,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
-            @RequestParam(required = false) Boolean available) {
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            WebRequest webRequest) {
+
+        requirePriceFilter("minPrice", minPrice);
+        requirePriceFilter("maxPrice", maxPrice);
+        Pageable pageable = toPageable(page, size, sort, direction);
+        String query = name + "|" + minPrice + "|" + maxPrice + "|" + available + "|" + pageable;
+        if (webRequest.checkNotModified(productService.getSearchETag(query))) {
+            return null;
+        }
+
+        Page<ProductResponse> result = productService.search(name, minPrice, maxPrice, available, pageable);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
+    }
+
+    private static void requirePriceFilter(String name, BigDecimal value) {
+        if (value != null && value.abs().compareTo(MAX_PRICE_FILTER) > 0) {
+            throw new IllegalArgumentException(name + " must be between -" + MAX_PRICE_FILTER +
+                    " and " + MAX_PRICE_FILTER);
+        }
+    }
 
-        return ResponseEntity.ok(
-                productService.search(name, minPrice, maxPrice, available)
-        );
+    private static Pageable toPageable(int page, int size, String sort, String direction) {
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            throw new IllegalArgumentException("Cannot sort products by: " + sort);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + direction));
+        Sort order = Sort.by(sortDirection, sort);
+        if (!"id".equals(sort)) {
+            // id breaks ties so pages stay stable
+            order = order.and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), order);
     }
 }
@@ -49,6 +49,14 @@ public class UserController {
         userService.delete(id);
     }
 
+    // ---------------- REVOKE ALL TOKENS OF A USER (Admin only) ----------------
+    @PostMapping("/{id}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeTokens(@PathVariable Long id) {
+        userService.revokeTokens(id);
+    }
+
     // ---------------- GET USER BY ID (Admin only) ----------------
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,156 @@
+package com.example.ECommerceTask.domain.Entity;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "discount_rules")
+public class DiscountRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    // Null applies the rule to every role
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private Role role;
+
+    // The rule applies only to subtotals greater than this; null means always
+    @Column(name = "subtotal_above", precision = 10, scale = 2)
+    private BigDecimal subtotalAbove;
+
+    // Percent of the order subtotal, e.g. 10.00
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal percentage;
+
+    @Column(name = "max_discount", precision = 10, scale = 2)
+    private BigDecimal maxDiscount;
+
+    // Rules are evaluated in ascending priority
+    @Column(nullable = false)
+    private Integer priority;
+
+    // When this rule applies, rules after it are skipped
+    @Column(name = "stop_processing", nullable = false)
+    private Boolean stopProcessing = false;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // ---------------- Constructors ----------------
+
+    public DiscountRule() {
+    }
+
+    // ---------------- Getters & Setters ----------------
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public BigDecimal getSubtotalAbove() {
+        return subtotalAbove;
+    }
+
+    public void setSubtotalAbove(BigDecimal subtotalAbove) {
+        this.subtotalAbove = subtotalAbove;
+    }
+
+    public BigDecimal getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(BigDecimal percentage) {
+        this.percentage = percentage;
+    }
+
+    public BigDecimal getMaxDiscount() {
+        return maxDiscount;
+    }
+
+    public void setMaxDiscount(BigDecimal maxDiscount) {
+        this.maxDiscount = maxDiscount;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public Boolean getStopProcessing() {
+        return stopProcessing;
+    }
+
+    public void setStopProcessing(Boolean stopProcessing) {
+        this.stopProcessing = stopProcessing;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ECommerceTask.domain.Entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String key;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // ---------------- Constructors ----------------
+
+    public IdempotencyKey() {
+    }
+
+    public IdempotencyKey(String key, String username, Long orderId, String requestHash) {
+        this.key = key;
+        this.username = username;
+        this.orderId = orderId;
+        this.requestHash = requestHash;
+    }
+
+    // ---------------- Getters & Setters ----------------
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
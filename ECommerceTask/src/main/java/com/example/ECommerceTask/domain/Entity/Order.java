@@ -13,7 +13,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,6 +27,11 @@ public class Order {
     @Column(name = "order_total", nullable = false, precision = 10, scale = 2)
     private BigDecimal orderTotal;
 
+    // Comma-separated names of the discount rules applied when the order was placed
+    @Lob
+    @Column(name = "applied_discounts")
+    private String appliedDiscounts;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -74,6 +80,14 @@ public class Order {
         this.orderTotal = orderTotal;
     }
 
+    public String getAppliedDiscounts() {
+        return appliedDiscounts;
+    }
+
+    public void setAppliedDiscounts(String appliedDiscounts) {
+        this.appliedDiscounts = appliedDiscounts;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
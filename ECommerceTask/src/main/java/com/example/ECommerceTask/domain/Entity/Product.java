@@ -1,7 +1,10 @@
 package com.example.ECommerceTask.domain.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
@@ -11,8 +14,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "products")
-@SQLDelete(sql = "UPDATE products SET deleted = true WHERE id = ?")
+@DynamicUpdate // quantity is owned by the inventory ledger; entity updates only write changed columns
+@SQLDelete(sql = "UPDATE products SET deleted = true WHERE id = ? AND version = ?")
 @SQLRestriction("deleted = false")
+@Cacheable // soft deletes go through Hibernate's delete, which evicts the entry
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class Product {
 
     @Id
@@ -22,6 +28,10 @@ public class Product {
     @Column(nullable = false, length = 150)
     private String name;
 
+    // Generated by the database as LOWER(name) and indexed for case-insensitive search
+    @Column(name = "name_lower", length = 150, insertable = false, updatable = false)
+    private String nameLower;
+
     @Column(length = 500)
     private String description;
 
@@ -42,6 +52,10 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // ---------------- Constructors ----------------
 
     public Product() {
@@ -88,6 +102,10 @@ public class Product {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
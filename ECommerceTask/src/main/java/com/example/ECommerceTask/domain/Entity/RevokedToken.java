@@ -0,0 +1,55 @@
+package com.example.ECommerceTask.domain.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    // Token jti, or "uid:<userId>" for a revoke-all cutoff
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    // Once this passes, every token the row could match has expired on its own
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // ---------------- Constructors ----------------
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String jti, Long userId, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // ---------------- Getters & Setters ----------------
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ECommerceTask.domain;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Money as a primitive {@code long} number of cents.
+ * <p>
+ * Pricing works on cents so sums, percentages and splits are exact integer
+ * arithmetic without allocating; {@link BigDecimal} is only used when reading
+ * from or writing to entities and DTOs.
+ */
+public final class Money {
+
+    public static final int BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * {@code cents * quantity}, failing instead of overflowing.
+     */
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * The given share of an amount, in basis points (1/100 of a percent),
+     * rounded half up to the cent.
+     */
+    public static long percentage(long cents, int basisPoints) {
+        return mulDiv(cents, basisPoints, BASIS_POINTS, true);
+    }
+
+    /**
+     * {@code amount * numerator / denominator} for non-negative operands, rounded
+     * down or half up, without overflowing the intermediate product.
+     */
+    public static long mulDiv(long amount, long numerator, long denominator, boolean roundHalfUp) {
+        long high = Math.multiplyHigh(amount, numerator);
+        long product = amount * numerator;
+        if (high == 0 && product >= 0) {
+            long quotient = product / denominator;
+            if (roundHalfUp && (product % denominator) * 2 >= denominator) {
+                quotient++;
+            }
+            return quotient;
+        }
+        // Rare: the product does not fit in a long
+        BigInteger[] division = BigInteger.valueOf(amount).multiply(BigInteger.valueOf(numerator))
+                .divideAndRemainder(BigInteger.valueOf(denominator));
+        long quotient = division[0].longValueExact();
+        if (roundHalfUp && division[1].shiftLeft(1).compareTo(BigInteger.valueOf(denominator)) >= 0) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    /**
+     * Splits {@code total} across lines in proportion to {@code weights}. Every share
+     * is rounded toward zero and the leftover cents go to the heaviest line (the
+     * first of equals), so the shares always add up to {@code total} exactly. A
+     * negative total, such as a refund, is split the same way; when every weight
+     * is zero the whole total goes to the first line.
+     *
+     * @param weights non-negative weights, e.g. line subtotals
+     * @param shares receives one share per weight
+     */
+    public static void allocate(long total, long[] weights, long[] shares) {
+        long weightSum = 0;
+        int largest = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weightSum += weights[i];
+            if (weights[i] > weights[largest]) {
+                largest = i;
+            }
+        }
+
+        long allocated = 0;
+        for (int i = 0; i < weights.length; i++) {
+            shares[i] = weightSum == 0 ? 0 : mulDiv(total, weights[i], weightSum, false);
+            allocated += shares[i];
+        }
+        if (weights.length > 0) {
+            shares[largest] += total - allocated;
+        }
+    }
+}
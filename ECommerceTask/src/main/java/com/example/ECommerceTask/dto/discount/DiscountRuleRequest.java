@@ -0,0 +1,131 @@
+package com.example.ECommerceTask.dto.discount;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class DiscountRuleRequest {
+
+    // Stored comma-separated on orders, so no commas or spaces
+    @NotBlank
+    @Size(max = 100)
+    @Pattern(regexp = "[A-Za-z0-9_-]+")
+    private String name;
+
+    // Omit to apply to every role
+    private Role role;
+
+    // Omit to apply regardless of the subtotal
+    @PositiveOrZero
+    private BigDecimal subtotalAbove;
+
+    @NotNull
+    @Positive
+    @DecimalMax("100.00")
+    @Digits(integer = 3, fraction = 2)
+    private BigDecimal percentage;
+
+    @Positive
+    private BigDecimal maxDiscount;
+
+    @NotNull
+    private Integer priority;
+
+    private Boolean stopProcessing = false;
+
+    private Boolean active = true;
+
+    private LocalDateTime startsAt;
+
+    private LocalDateTime endsAt;
+
+    // Getters & Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public BigDecimal getSubtotalAbove() {
+        return subtotalAbove;
+    }
+
+    public void setSubtotalAbove(BigDecimal subtotalAbove) {
+        this.subtotalAbove = subtotalAbove;
+    }
+
+    public BigDecimal getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(BigDecimal percentage) {
+        this.percentage = percentage;
+    }
+
+    public BigDecimal getMaxDiscount() {
+        return maxDiscount;
+    }
+
+    public void setMaxDiscount(BigDecimal maxDiscount) {
+        this.maxDiscount = maxDiscount;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public Boolean getStopProcessing() {
+        return stopProcessing;
+    }
+
+    public void setStopProcessing(Boolean stopProcessing) {
+        this.stopProcessing = stopProcessing;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ECommerceTask.dto.discount;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class DiscountRuleResponse {
+
+    private Long id;
+    private String name;
+    private Role role;
+    private BigDecimal subtotalAbove;
+    private BigDecimal percentage;
+    private BigDecimal maxDiscount;
+    private Integer priority;
+    private Boolean stopProcessing;
+    private Boolean active;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private LocalDateTime updatedAt;
+
+    // Getters & Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public BigDecimal getSubtotalAbove() {
+        return subtotalAbove;
+    }
+
+    public void setSubtotalAbove(BigDecimal subtotalAbove) {
+        this.subtotalAbove = subtotalAbove;
+    }
+
+    public BigDecimal getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(BigDecimal percentage) {
+        this.percentage = percentage;
+    }
+
+    public BigDecimal getMaxDiscount() {
+        return maxDiscount;
+    }
+
+    public void setMaxDiscount(BigDecimal maxDiscount) {
+        this.maxDiscount = maxDiscount;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public Boolean getStopProcessing() {
+        return stopProcessing;
+    }
+
+    public void setStopProcessing(Boolean stopProcessing) {
+        this.stopProcessing = stopProcessing;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
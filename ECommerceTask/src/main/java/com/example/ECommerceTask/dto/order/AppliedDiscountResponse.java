@@ -0,0 +1,26 @@
+package com.example.ECommerceTask.dto.order;
+
+import java.math.BigDecimal;
+
+public class AppliedDiscountResponse {
+
+    private String rule;
+    private BigDecimal amount;
+
+    // Getters & Setters
+    public String getRule() {
+        return rule;
+    }
+
+    public void setRule(String rule) {
+        this.rule = rule;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ECommerceTask.dto.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchOrderRequest {
+
+    @NotEmpty
+    @NotNull
+    @Size(max = 1000)
+    @Valid
+    private List<OrderRequest> orders;
+
+    // Getters & Setters
+    public List<OrderRequest> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderRequest> orders) {
+        this.orders = orders;
+    }
+}
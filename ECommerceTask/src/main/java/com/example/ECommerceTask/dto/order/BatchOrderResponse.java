@@ -0,0 +1,41 @@
+package com.example.ECommerceTask.dto.order;
+
+import java.util.List;
+
+public class BatchOrderResponse {
+
+    private int created;
+    private int rejected;
+    private List<BatchOrderResult> results;
+
+    public BatchOrderResponse(int created, int rejected, List<BatchOrderResult> results) {
+        this.created = created;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    // Getters & Setters
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchOrderResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchOrderResult> results) {
+        this.results = results;
+    }
+}
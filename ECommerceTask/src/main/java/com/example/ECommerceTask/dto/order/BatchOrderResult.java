@@ -0,0 +1,61 @@
+package com.example.ECommerceTask.dto.order;
+
+public class BatchOrderResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private OrderResponse order;
+    private String error;
+
+    public static BatchOrderResult created(int index, OrderResponse order) {
+        BatchOrderResult result = new BatchOrderResult();
+        result.setIndex(index);
+        result.setStatus(CREATED);
+        result.setOrder(order);
+        return result;
+    }
+
+    public static BatchOrderResult rejected(int index, String error) {
+        BatchOrderResult result = new BatchOrderResult();
+        result.setIndex(index);
+        result.setStatus(REJECTED);
+        result.setError(error);
+        return result;
+    }
+
+    // Getters & Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public OrderResponse getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderResponse order) {
+        this.order = order;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
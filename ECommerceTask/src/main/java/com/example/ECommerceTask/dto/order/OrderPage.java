@@ -0,0 +1,25 @@
+package com.example.ECommerceTask.dto.order;
+
+import java.util.List;
+
+public class OrderPage {
+
+    private final List<OrderResponse> items;
+    private final String nextCursor;
+
+    public OrderPage(List<OrderResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderResponse> getItems() {
+        return items;
+    }
+
+    /**
+     * Cursor for the following page, or null when this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ECommerceTask.dto.order;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class OrderQuoteResponse {
+
+    // One line per product, quantities of repeated products merged
+    private List<OrderItemResponse> items;
+    private BigDecimal subtotal;
+    private List<AppliedDiscountResponse> discounts;
+    private BigDecimal totalDiscount;
+    private BigDecimal orderTotal;
+
+    // Getters & Setters
+    public List<OrderItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItemResponse> items) {
+        this.items = items;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public List<AppliedDiscountResponse> getDiscounts() {
+        return discounts;
+    }
+
+    public void setDiscounts(List<AppliedDiscountResponse> discounts) {
+        this.discounts = discounts;
+    }
+
+    public BigDecimal getTotalDiscount() {
+        return totalDiscount;
+    }
+
+    public void setTotalDiscount(BigDecimal totalDiscount) {
+        this.totalDiscount = totalDiscount;
+    }
+
+    public BigDecimal getOrderTotal() {
+        return orderTotal;
+    }
+
+    public void setOrderTotal(BigDecimal orderTotal) {
+        this.orderTotal = orderTotal;
+    }
+}
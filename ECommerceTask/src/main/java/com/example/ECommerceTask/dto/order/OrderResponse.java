@@ -11,6 +11,7 @@ public class OrderResponse {
     private String username;
     private List<OrderItemResponse> items;
     private BigDecimal orderTotal;
+    private List<String> appliedDiscounts;
     private LocalDateTime createdAt;
 
     // Getters & Setters
@@ -54,6 +55,14 @@ public class OrderResponse {
         this.orderTotal = orderTotal;
     }
 
+    public List<String> getAppliedDiscounts() {
+        return appliedDiscounts;
+    }
+
+    public void setAppliedDiscounts(List<String> appliedDiscounts) {
+        this.appliedDiscounts = appliedDiscounts;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,6 +1,8 @@
 package com.example.ECommerceTask.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -72,6 +74,56 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // 409 - Concurrent modification (optimistic locking)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        return new ResponseEntity<>(
+                new ErrorResponse(
+                        HttpStatus.CONFLICT.value(),
+                        "CONFLICT",
+                        "The resource was modified concurrently, please retry",
+                        request.getRequestURI()
+                ),
+                HttpStatus.CONFLICT
+        );
+    }
+
+    // 422 - Idempotency key reused with a different request
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatch(
+            IdempotencyKeyMismatchException ex,
+            HttpServletRequest request) {
+
+        return new ResponseEntity<>(
+                new ErrorResponse(
+                        HttpStatus.UNPROCESSABLE_CONTENT.value(),
+                        "UNPROCESSABLE_CONTENT",
+                        ex.getMessage(),
+                        request.getRequestURI()
+                ),
+                HttpStatus.UNPROCESSABLE_CONTENT
+        );
+    }
+
+    // 503 - Overloaded (e.g. password hashing queue full)
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusy(
+            ServiceBusyException ex,
+            HttpServletRequest request) {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "SERVICE_UNAVAILABLE",
+                        ex.getMessage(),
+                        request.getRequestURI()
+                ));
+    }
+
     // 401 - Authentication failed
     @ExceptionHandler({BadCredentialsException.class, UsernameNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleAuthenticationException(
@@ -0,0 +1,18 @@
+package com.example.ECommerceTask.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook that sees every SQL statement before it is prepared and feeds
+ * {@link SqlStatementCounter}. Registered through
+ * {@code hibernate.session_factory.statement_inspector}; the SQL is passed
+ * through unchanged.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ECommerceTask.monitoring;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the SQL statements of each request, security filters and response
+ * serialization included.
+ * <p>
+ * The count is always recorded in the {@code sql.statements.per.request}
+ * summary (by method and URI pattern), and a warning is logged for every
+ * statement shape that ran more than the N+1 threshold times.
+ * <p>
+ * With {@code sql.statements.response-headers} enabled (off by default, meant
+ * for development and tests) the counts also go out as the
+ * {@value #STATEMENTS_HEADER} and {@value #SHAPES_HEADER} headers. The
+ * response body is then buffered until the request has been handled, so the
+ * headers include lazy loads that only fire while the body is written. Paths
+ * listed in {@code sql.statements.unbuffered-paths} stream their body instead
+ * and get no headers.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String SHAPES_HEADER = "X-Sql-Statement-Shapes";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    private final int repeatThreshold;
+    private final boolean responseHeaders;
+    private final Set<String> unbufferedPaths;
+
+    public SqlStatementCountFilter(
+            @Value("${sql.statements.n-plus-one-threshold:10}") int repeatThreshold,
+            @Value("${sql.statements.response-headers:false}") boolean responseHeaders,
+            @Value("${sql.statements.unbuffered-paths:/api/orders/export}") String[] unbufferedPaths) {
+        this.repeatThreshold = repeatThreshold;
+        this.responseHeaders = responseHeaders;
+        this.unbufferedPaths = Set.of(unbufferedPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        ContentCachingResponseWrapper buffered = responseHeaders && !unbufferedPaths.contains(path)
+                ? new ContentCachingResponseWrapper(response) : null;
+
+        SqlStatementCounter.Counts counts;
+        SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, buffered == null ? response : buffered);
+        } finally {
+            counts = SqlStatementCounter.end();
+            record(request, counts);
+        }
+
+        if (buffered != null) {
+            // Nothing has been sent yet, so the headers can still carry the final counts
+            response.setHeader(STATEMENTS_HEADER, String.valueOf(counts.getStatements()));
+            response.setHeader(SHAPES_HEADER, String.valueOf(counts.getDistinctShapes()));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Counts counts) {
+        // The matched pattern keeps the tag bounded; unmatched requests share one value
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        Metrics.summary("sql.statements.per.request", "method", request.getMethod(), "uri", uri)
+                .record(counts.getStatements());
+
+        for (Map.Entry<String, Integer> shape : counts.getShapes().entrySet()) {
+            if (shape.getValue() > repeatThreshold) {
+                log.warn("Possible N+1: {} {} prepared the same statement {} times: {}",
+                        request.getMethod(), request.getRequestURI(), shape.getValue(), shape.getKey());
+            }
+        }
+    }
+}
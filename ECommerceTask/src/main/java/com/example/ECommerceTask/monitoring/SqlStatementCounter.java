@@ -0,0 +1,80 @@
+package com.example.ECommerceTask.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-thread tally of the SQL statements Hibernate prepares while serving one
+ * HTTP request, in total and per statement shape.
+ * <p>
+ * A shape is the SQL with whitespace collapsed, literals replaced by {@code ?}
+ * and IN lists folded to one placeholder, so the same query run for different
+ * rows or batch sizes counts as one shape. Statements prepared on other threads,
+ * e.g. the inventory flush, are not counted.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private SqlStatementCounter() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new Counts());
+    }
+
+    /**
+     * @return the counts of the request ending on this thread, or null if none was begun
+     */
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    static void record(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.add(shapeOf(sql));
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    public static final class Counts {
+
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int statements;
+
+        private void add(String shape) {
+            statements++;
+            shapes.merge(shape, 1, Integer::sum);
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getDistinctShapes() {
+            return shapes.size();
+        }
+
+        /**
+         * Statement shape to the number of times it was prepared.
+         */
+        public Map<String, Integer> getShapes() {
+            return shapes;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.ECommerceTask.repository;
+
+import com.example.ECommerceTask.domain.Entity.DiscountRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DiscountRuleRepository extends JpaRepository<DiscountRule, Long> {
+
+    /**
+     * Every rule in evaluation order.
+     */
+    List<DiscountRule> findAllByOrderByPriorityAscIdAsc();
+
+    boolean existsByName(String name);
+}
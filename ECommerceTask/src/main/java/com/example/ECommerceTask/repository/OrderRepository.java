@@ -1,11 +1,18 @@
 package com.example.ECommerceTask.repository;
 
 import com.example.ECommerceTask.domain.Entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
@@ -14,7 +21,36 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.user.id = :userId")
     List<Order> findByUserIdWithItems(@Param("userId") Long userId);
 
+    /**
+     * Owner id and total of an order, enough to authorize and tag it without
+     * loading the order or its items.
+     */
+    @Query("SELECT o.user.id, o.orderTotal FROM Order o WHERE o.id = :id")
+    List<Object[]> findOwnerAndTotal(@Param("id") Long id);
+
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
     java.util.Optional<Order> findByIdWithItems(@Param("id") Long id);
+
+    /**
+     * Newest orders first. Users come from the entity graph; items and their
+     * products are batch-fetched, so a page costs a fixed number of queries.
+     */
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstPage(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o " +
+            "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Streams orders oldest first for export. Must be consumed inside a transaction
+     * and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o FROM Order o JOIN FETCH o.user WHERE o.createdAt >= :since ORDER BY o.createdAt, o.id")
+    Stream<Order> streamCreatedSince(@Param("since") LocalDateTime since);
 }
 
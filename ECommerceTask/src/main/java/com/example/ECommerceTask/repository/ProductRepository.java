@@ -2,15 +2,52 @@ package com.example.ECommerceTask.repository;
 
 import com.example.ECommerceTask.domain.Entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     List<Product> findByNameContainingIgnoreCase(String name);
 
     List<Product> findByPriceBetween(BigDecimal min, BigDecimal max);
 
     List<Product> findByQuantityGreaterThan(Integer quantity);
+
+    /**
+     * Loads all requested products in a single query. Stock is not read from
+     * these entities; it is reserved through the inventory ledger.
+     */
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdInOrderById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Id and quantity of every non-deleted product, used to rebuild the inventory ledger.
+     */
+    @Query("SELECT p.id, p.quantity FROM Product p")
+    List<Object[]> findAllStockLevels();
+
+    /**
+     * Current version of each given product, used to detect concurrent catalog
+     * changes before an order commits.
+     */
+    @Query("SELECT p.id, p.version FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findVersions(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Id, price and quantity of every non-deleted product, ordered by id, used to
+     * build the columnar catalog snapshot.
+     */
+    @Query("SELECT p.id, p.price, p.quantity FROM Product p ORDER BY p.id")
+    List<Object[]> findAllPriceLevels();
+
+    /**
+     * Id and name of every non-deleted product, used to build the name index.
+     */
+    @Query("SELECT p.id, p.name FROM Product p")
+    List<Object[]> findAllNames();
 }
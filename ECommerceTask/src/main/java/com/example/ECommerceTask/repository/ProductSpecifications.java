@@ -0,0 +1,61 @@
+package com.example.ECommerceTask.repository;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Catalog search filters; null arguments are ignored. Soft-deleted products
+     * are excluded by the entity's {@code @SQLRestriction}.
+     * <p>
+     * {@code available} is checked against {@code products.quantity}, which trails
+     * the inventory ledger by up to one write-behind flush
+     * ({@code inventory.flush-interval-ms}).
+     */
+    public static Specification<Product> search(
+            String name,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean available) {
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (name != null && !name.isBlank()) {
+                // A leading wildcard cannot use idx_products_name_lower, so this scans; most
+                // name searches are resolved by ProductNameIndex and never get here
+                predicates.add(cb.like(root.get("nameLower"), "%" + escapeLike(name.toLowerCase(Locale.ROOT)) + "%", '\\'));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            if (available != null) {
+                predicates.add(available
+                        ? cb.greaterThan(root.get("quantity"), 0)
+                        : cb.equal(root.get("quantity"), 0));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ECommerceTask.repository;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes stock flushed from the inventory ledger to {@code products.quantity}.
+ * <p>
+ * Goes through JDBC rather than a JPQL bulk update: Hibernate clears the whole
+ * {@code products} second-level cache region after every bulk update, which the
+ * write-behind flush would otherwise do several times a second. Only the
+ * flushed products are evicted instead.
+ */
+@Repository
+public class ProductStockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ProductStockRepository(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Applies net stock changes in one JDBC batch. Joins the current transaction.
+     */
+    public void adjustQuantities(List<Long> productIds, List<Integer> deltas) {
+        List<Object[]> arguments = new ArrayList<>(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            arguments.add(new Object[]{deltas.get(i), productIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE products SET quantity = quantity + ? WHERE id = ?", arguments);
+    }
+
+    /**
+     * Drops the given products from the second-level cache; call once the
+     * adjustment has committed.
+     */
+    public void evictFromCache(List<Long> productIds) {
+        for (Long productId : productIds) {
+            entityManagerFactory.getCache().evict(Product.class, productId);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ECommerceTask.repository;
+
+import com.example.ECommerceTask.domain.Entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Every stored key, used to rebuild the revocation Bloom filter.
+     */
+    @Query("SELECT t.jti FROM RevokedToken t")
+    List<String> findAllJtis();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
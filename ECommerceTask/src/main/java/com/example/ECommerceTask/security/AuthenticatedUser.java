@@ -0,0 +1,78 @@
+package com.example.ECommerceTask.security;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Principal built from a verified JWT. Immutable, so one instance can be cached
+ * and shared by every request carrying the same token.
+ * <p>
+ * Carries everything the hot paths need about the caller (id, username, role),
+ * so services do not have to load the {@code User}.
+ */
+public final class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final Role role;
+    private final String tokenId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, Role role, String tokenId, Instant issuedAt, Instant expiresAt) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * The token's jti, used to revoke it.
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -1,27 +1,44 @@
 package com.example.ECommerceTask.security;
 
 import com.example.ECommerceTask.service.JwtTokenService;
+import com.example.ECommerceTask.service.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
+/**
+ * Authenticates requests carrying a bearer token.
+ * <p>
+ * Metrics: {@code jwt.filter} times the token check, tagged with its outcome
+ * ({@code authenticated}, {@code revoked} or {@code invalid}).
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String FILTER_TIMER = "jwt.filter";
+
+    private final Timer authenticatedTimer = Metrics.timer(FILTER_TIMER, "outcome", "authenticated");
+    private final Timer revokedTimer = Metrics.timer(FILTER_TIMER, "outcome", "revoked");
+    private final Timer invalidTimer = Metrics.timer(FILTER_TIMER, "outcome", "invalid");
+
     private final JwtTokenService jwtTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
-    public JwtAuthenticationFilter(JwtTokenService jwtTokenService) {
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, TokenRevocationService tokenRevocationService) {
         this.jwtTokenService = jwtTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -30,28 +47,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             String token = authHeader.substring(7);
+            Timer.Sample sample = Timer.start();
+            Timer outcome;
 
             try {
-                String username = jwtTokenService.getUsernameFromToken(token);
-                String role = jwtTokenService.getRoleFromToken(token);
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    if (jwtTokenService.validateToken(token, username)) {
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(
-                                        username,
-                                        null,
-                                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                                );
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
+                // One verification per token; repeated tokens come from the service's cache
+                AuthenticatedUser user = jwtTokenService.authenticate(token);
+                // Revoked tokens are treated like invalid ones
+                if (!tokenRevocationService.isRevoked(user)) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    authentication.setDetails(detailsSource.buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    outcome = authenticatedTimer;
+                } else {
+                    outcome = revokedTimer;
                 }
-            } catch (Exception e) {
+            } catch (JwtException | IllegalArgumentException e) {
                 // Token is invalid, continue without authentication
+                outcome = invalidTimer;
             }
+            sample.stop(outcome);
         }
 
         filterChain.doFilter(request, response);
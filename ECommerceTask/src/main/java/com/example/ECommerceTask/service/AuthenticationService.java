@@ -4,11 +4,14 @@ import com.example.ECommerceTask.dto.auth.LoginRequest;
 import com.example.ECommerceTask.dto.auth.LoginResponse;
 import com.example.ECommerceTask.dto.user.UserRequest;
 import com.example.ECommerceTask.dto.user.UserResponse;
+import com.example.ECommerceTask.security.AuthenticatedUser;
 
 public interface AuthenticationService {
 
     LoginResponse login(LoginRequest request);
 
     UserResponse register(UserRequest request);
+
+    void logout(AuthenticatedUser user);
 }
 
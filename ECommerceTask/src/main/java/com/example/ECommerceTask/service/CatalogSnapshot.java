@@ -0,0 +1,353 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Money;
+import com.example.ECommerceTask.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar copy of the catalog for price and availability filtering.
+ * <p>
+ * Products are stored as parallel primitive columns sorted by id, so a filter is
+ * a single pass over {@code long} and {@code int} values. Quantities are available
+ * stock as tracked by the inventory ledger. Readers never lock: writers publish a
+ * new {@link Columns} instance and never modify a slot a published instance can see.
+ * <p>
+ * Prices, quantities and deletion flags are split into fixed-size blocks, so
+ * changing a product copies one block rather than the whole column. New
+ * products, which normally have the highest id, are appended into spare
+ * capacity. Deleted slots are compacted away once they make up a quarter of the
+ * snapshot.
+ */
+@Service
+public class CatalogSnapshot {
+
+    public static final int ANY = -1;
+    public static final int OUT_OF_STOCK = 0;
+    public static final int IN_STOCK = 1;
+
+    static final int BLOCK_SHIFT = 10;
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int MIN_CAPACITY = 16;
+
+    private final ProductRepository productRepository;
+    private final Object writeLock = new Object();
+    private volatile Columns columns = Columns.of(new long[0], new long[0], new int[0], 0);
+
+    public CatalogSnapshot(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @PostConstruct
+    void build() {
+        List<Object[]> rows = productRepository.findAllPriceLevels();
+        long[] ids = new long[rows.size()];
+        long[] priceCents = new long[rows.size()];
+        int[] quantities = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            priceCents[i] = Money.toCents((BigDecimal) row[1]);
+            quantities[i] = ((Number) row[2]).intValue();
+        }
+        replaceAll(ids, priceCents, quantities);
+    }
+
+    /**
+     * Replaces the whole snapshot. Ids must be sorted ascending.
+     */
+    public void replaceAll(long[] ids, long[] priceCents, int[] quantities) {
+        synchronized (writeLock) {
+            columns = Columns.of(ids, priceCents, quantities, ids.length);
+        }
+    }
+
+    /**
+     * Adds or updates a product.
+     *
+     * @param quantity available stock
+     */
+    public void upsert(Long productId, BigDecimal price, int quantity) {
+        long cents = Money.toCents(price);
+        synchronized (writeLock) {
+            Columns current = columns;
+            int index = Arrays.binarySearch(current.ids, 0, current.size, productId);
+            if (index >= 0) {
+                Columns updated = current.copy();
+                updated.setPrice(index, cents);
+                updated.setQuantity(index, quantity);
+                updated.setDeleted(index, false);
+                columns = updated;
+                return;
+            }
+
+            int position = -index - 1;
+            if (position == current.size) {
+                columns = current.append(productId, cents, quantity);
+            } else {
+                // Only when a product is created with an id below the highest one
+                columns = current.rebuild(position, productId, cents, quantity);
+            }
+        }
+    }
+
+    public void remove(Long productId) {
+        synchronized (writeLock) {
+            Columns current = columns;
+            int index = Arrays.binarySearch(current.ids, 0, current.size, productId);
+            if (index < 0 || current.isDeleted(index)) {
+                return;
+            }
+            Columns updated = current.copy();
+            updated.setDeleted(index, true);
+            columns = updated.deletedCount * 4 > updated.size ? updated.rebuild(-1, 0, 0, 0) : updated;
+        }
+    }
+
+    /**
+     * @param quantities available stock per product
+     */
+    public void updateQuantities(long[] productIds, int[] quantities) {
+        synchronized (writeLock) {
+            Columns current = columns;
+            Columns updated = current.copy();
+            for (int i = 0; i < productIds.length; i++) {
+                int index = Arrays.binarySearch(current.ids, 0, current.size, productIds[i]);
+                if (index >= 0) {
+                    updated.setQuantity(index, quantities[i]);
+                }
+            }
+            columns = updated;
+        }
+    }
+
+    /**
+     * Ids, ascending, of live products priced within [minCents, maxCents] with the
+     * given availability ({@link #ANY}, {@link #IN_STOCK} or {@link #OUT_OF_STOCK}).
+     */
+    public long[] filter(long minCents, long maxCents, int availability) {
+        Columns snapshot = columns;
+        long[] ids = snapshot.ids;
+        int size = snapshot.size;
+
+        long[] matches = new long[size];
+        int count = 0;
+        for (int start = 0; start < size; start += BLOCK_SIZE) {
+            int block = start >>> BLOCK_SHIFT;
+            long[] prices = snapshot.prices[block];
+            int[] quantities = snapshot.quantities[block];
+            long[] deleted = snapshot.deleted[block];
+            int end = Math.min(BLOCK_SIZE, size - start);
+            for (int i = 0; i < end; i++) {
+                long price = prices[i];
+                int quantity = quantities[i];
+                boolean stockMatches = availability == ANY
+                        || (availability == IN_STOCK ? quantity > 0 : quantity == 0);
+                if (price >= minCents & price <= maxCents & stockMatches
+                        & (deleted[i >>> 6] & (1L << i)) == 0) {
+                    matches[count++] = ids[start + i];
+                }
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Same as {@link #filter(long, long, int)}, restricted to the given ascending candidate ids.
+     */
+    public long[] filter(long[] candidateIds, long minCents, long maxCents, int availability) {
+        Columns snapshot = columns;
+        long[] matches = new long[candidateIds.length];
+        int count = 0;
+        int from = 0;
+        for (long candidateId : candidateIds) {
+            int i = Arrays.binarySearch(snapshot.ids, from, snapshot.size, candidateId);
+            if (i < 0) {
+                from = -i - 1;
+                continue;
+            }
+            from = i + 1;
+            long price = snapshot.price(i);
+            int quantity = snapshot.quantity(i);
+            boolean stockMatches = availability == ANY
+                    || (availability == IN_STOCK ? quantity > 0 : quantity == 0);
+            if (price >= minCents && price <= maxCents && stockMatches && !snapshot.isDeleted(i)) {
+                matches[count++] = candidateId;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Slots in the current snapshot, deleted ones included.
+     */
+    int slotCount() {
+        return columns.size;
+    }
+
+    /**
+     * One published version of the columns. Slots below {@code size} are never
+     * written once published; slots from {@code size} on may be filled by a later
+     * append, which only publishes them in a new instance.
+     */
+    private static final class Columns {
+
+        private final long[] ids;
+        private final long[][] prices;
+        private final int[][] quantities;
+        private final long[][] deleted;
+        private final int size;
+        private int deletedCount;
+
+        // Blocks already copied by this (unpublished) instance
+        private boolean[] ownedPriceBlocks;
+        private boolean[] ownedQuantityBlocks;
+        private boolean[] ownedDeletedBlocks;
+
+        private Columns(long[] ids, long[][] prices, int[][] quantities, long[][] deleted, int size, int deletedCount) {
+            this.ids = ids;
+            this.prices = prices;
+            this.quantities = quantities;
+            this.deleted = deleted;
+            this.size = size;
+            this.deletedCount = deletedCount;
+        }
+
+        private static Columns of(long[] ids, long[] priceCents, int[] quantities, int size) {
+            int blocks = blocksFor(size);
+            long[][] priceBlocks = new long[blocks][];
+            int[][] quantityBlocks = new int[blocks][];
+            long[][] deletedBlocks = new long[blocks][];
+            for (int block = 0; block < blocks; block++) {
+                int start = block << BLOCK_SHIFT;
+                int length = Math.min(BLOCK_SIZE, size - start);
+                priceBlocks[block] = new long[BLOCK_SIZE];
+                quantityBlocks[block] = new int[BLOCK_SIZE];
+                deletedBlocks[block] = new long[BLOCK_SIZE >>> 6];
+                System.arraycopy(priceCents, start, priceBlocks[block], 0, length);
+                System.arraycopy(quantities, start, quantityBlocks[block], 0, length);
+            }
+            long[] idColumn = Arrays.copyOf(ids, Math.max(MIN_CAPACITY, size + (size >>> 1)));
+            return new Columns(idColumn, priceBlocks, quantityBlocks, deletedBlocks, size, 0);
+        }
+
+        /**
+         * Unpublished copy sharing every block; setters copy a block on first write.
+         */
+        private Columns copy() {
+            Columns copy = new Columns(ids, prices.clone(), quantities.clone(), deleted.clone(), size, deletedCount);
+            copy.ownedPriceBlocks = new boolean[prices.length];
+            copy.ownedQuantityBlocks = new boolean[prices.length];
+            copy.ownedDeletedBlocks = new boolean[prices.length];
+            return copy;
+        }
+
+        /**
+         * New instance with one more product at the end, written into spare capacity
+         * that no published instance can see.
+         */
+        private Columns append(long productId, long priceCents, int quantity) {
+            long[] idColumn = ids;
+            if (size == idColumn.length) {
+                idColumn = Arrays.copyOf(idColumn, idColumn.length * 2);
+            }
+            idColumn[size] = productId;
+
+            long[][] priceBlocks = prices;
+            int[][] quantityBlocks = quantities;
+            long[][] deletedBlocks = deleted;
+            int block = size >>> BLOCK_SHIFT;
+            if (block == priceBlocks.length) {
+                priceBlocks = Arrays.copyOf(priceBlocks, block + 1);
+                quantityBlocks = Arrays.copyOf(quantityBlocks, block + 1);
+                deletedBlocks = Arrays.copyOf(deletedBlocks, block + 1);
+                priceBlocks[block] = new long[BLOCK_SIZE];
+                quantityBlocks[block] = new int[BLOCK_SIZE];
+                deletedBlocks[block] = new long[BLOCK_SIZE >>> 6];
+            }
+            int offset = size & BLOCK_MASK;
+            priceBlocks[block][offset] = priceCents;
+            quantityBlocks[block][offset] = quantity;
+            return new Columns(idColumn, priceBlocks, quantityBlocks, deletedBlocks, size + 1, deletedCount);
+        }
+
+        /**
+         * Fresh columns without deleted slots, with the given product inserted at
+         * {@code position} of the current slots (or nothing inserted if it is negative).
+         */
+        private Columns rebuild(int position, long productId, long priceCents, int quantity) {
+            int capacity = size - deletedCount + 1;
+            long[] idColumn = new long[capacity];
+            long[] priceColumn = new long[capacity];
+            int[] quantityColumn = new int[capacity];
+            int count = 0;
+            for (int i = 0; i <= size; i++) {
+                if (i == position) {
+                    idColumn[count] = productId;
+                    priceColumn[count] = priceCents;
+                    quantityColumn[count++] = quantity;
+                }
+                if (i < size && !isDeleted(i)) {
+                    idColumn[count] = ids[i];
+                    priceColumn[count] = price(i);
+                    quantityColumn[count++] = quantity(i);
+                }
+            }
+            return of(idColumn, priceColumn, quantityColumn, count);
+        }
+
+        private long price(int index) {
+            return prices[index >>> BLOCK_SHIFT][index & BLOCK_MASK];
+        }
+
+        private int quantity(int index) {
+            return quantities[index >>> BLOCK_SHIFT][index & BLOCK_MASK];
+        }
+
+        private boolean isDeleted(int index) {
+            int offset = index & BLOCK_MASK;
+            return (deleted[index >>> BLOCK_SHIFT][offset >>> 6] & (1L << offset)) != 0;
+        }
+
+        private void setPrice(int index, long priceCents) {
+            int block = index >>> BLOCK_SHIFT;
+            if (!ownedPriceBlocks[block]) {
+                prices[block] = prices[block].clone();
+                ownedPriceBlocks[block] = true;
+            }
+            prices[block][index & BLOCK_MASK] = priceCents;
+        }
+
+        private void setQuantity(int index, int quantity) {
+            int block = index >>> BLOCK_SHIFT;
+            if (!ownedQuantityBlocks[block]) {
+                quantities[block] = quantities[block].clone();
+                ownedQuantityBlocks[block] = true;
+            }
+            quantities[block][index & BLOCK_MASK] = quantity;
+        }
+
+        private void setDeleted(int index, boolean value) {
+            if (isDeleted(index) == value) {
+                return;
+            }
+            int block = index >>> BLOCK_SHIFT;
+            if (!ownedDeletedBlocks[block]) {
+                deleted[block] = deleted[block].clone();
+                ownedDeletedBlocks[block] = true;
+            }
+            int offset = index & BLOCK_MASK;
+            deleted[block][offset >>> 6] ^= 1L << offset;
+            deletedCount += value ? 1 : -1;
+        }
+
+        private static int blocksFor(int size) {
+            return (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+        }
+    }
+}
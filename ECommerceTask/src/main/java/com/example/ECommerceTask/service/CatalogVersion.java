@@ -0,0 +1,41 @@
+package com.example.ECommerceTask.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog-wide change counters. The catalog version is bumped after anything
+ * that can alter a product listing: product attributes, deletion or available
+ * stock; product listings use it as their ETag. The price version only moves
+ * when products are created, edited or deleted, so stock movements do not
+ * invalidate cached order quotes.
+ * <p>
+ * Seeded from the clock so values handed out before a restart never match.
+ */
+@Service
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong priceVersion = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+
+    public long currentPrices() {
+        return priceVersion.get();
+    }
+
+    /**
+     * Bumps both versions; call once the product change is committed.
+     */
+    public void incrementPrices() {
+        priceVersion.incrementAndGet();
+        version.incrementAndGet();
+    }
+}
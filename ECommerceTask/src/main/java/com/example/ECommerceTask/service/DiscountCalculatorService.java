@@ -1,49 +1,100 @@
 package com.example.ECommerceTask.service;
 
+import com.example.ECommerceTask.domain.Entity.DiscountRule;
 import com.example.ECommerceTask.domain.Enums.Role;
-import com.example.ECommerceTask.domain.strategy.HighOrderDiscountStrategy;
-import com.example.ECommerceTask.domain.strategy.PremiumUserDiscountStrategy;
+import com.example.ECommerceTask.repository.DiscountRuleRepository;
+import com.example.ECommerceTask.service.DiscountDecisionTable.Discount;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Applies the discount rules stored in {@code discount_rules}.
+ * <p>
+ * The rules are compiled into a {@link DiscountDecisionTable} and published
+ * through an {@link AtomicReference}: orders read whichever table is current,
+ * and a rule change swaps in a newly compiled one without blocking them.
+ */
 @Service
 public class DiscountCalculatorService {
 
-    private final PremiumUserDiscountStrategy premiumUserDiscountStrategy;
-    private final HighOrderDiscountStrategy highOrderDiscountStrategy;
+    private final DiscountRuleRepository discountRuleRepository;
+    private final TransactionTemplate readTransaction;
+    private final AtomicReference<DiscountDecisionTable> table =
+            new AtomicReference<>(DiscountDecisionTable.compile(List.of(), 0));
+    // Seeded from the clock so versions handed out before a restart never match
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
 
     public DiscountCalculatorService(
-            PremiumUserDiscountStrategy premiumUserDiscountStrategy,
-            HighOrderDiscountStrategy highOrderDiscountStrategy) {
-        this.premiumUserDiscountStrategy = premiumUserDiscountStrategy;
-        this.highOrderDiscountStrategy = highOrderDiscountStrategy;
+            DiscountRuleRepository discountRuleRepository,
+            PlatformTransactionManager transactionManager) {
+        this.discountRuleRepository = discountRuleRepository;
+        // Own transaction, since a reload can run after the writing one has committed
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
     }
 
     /**
-     * Calculates total discount based on user role and order total.
-     * Discount rules:
-     * - USER: no discount
-     * - PREMIUM_USER: 10% off total order
-     * - Orders > $500: extra 5% discount for any user (stacks with premium discount)
+     * Recompiles the table from the database. Synchronized so the last reload to
+     * run is also the last one published.
+     */
+    @PostConstruct
+    public synchronized void reload() {
+        replaceRules(readTransaction.execute(status -> discountRuleRepository.findAllByOrderByPriorityAscIdAsc()));
+    }
+
+    /**
+     * Reloads once the current transaction commits, or immediately when none is active.
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    public void replaceRules(List<DiscountRule> rules) {
+        table.set(DiscountDecisionTable.compile(rules, versions.incrementAndGet()));
+    }
+
+    /**
+     * Version of the rules currently in effect; changes whenever they are reloaded.
+     */
+    public long rulesVersion() {
+        return table.get().version();
+    }
+
+    /**
+     * Instant the current rules' date windows last opened or closed; see
+     * {@link DiscountDecisionTable#windowStart(long)}.
+     */
+    public long rulesWindowStart() {
+        return table.get().windowStart(System.currentTimeMillis());
+    }
+
+    /**
+     * Calculates the total discount for an order from the current rules.
      *
-     * @param orderTotal The subtotal before discounts
+     * @param orderTotalCents The subtotal before discounts, in cents
      * @param userRole The role of the user placing the order
-     * @return Total discount amount
+     * @return Total discount in cents and the rules that were applied
      */
-    public BigDecimal calculateTotalDiscount(BigDecimal orderTotal, Role userRole) {
-        BigDecimal totalDiscount = BigDecimal.ZERO;
-        
-        // Apply premium user discount (10% off) if user is PREMIUM_USER
-        if (userRole == Role.PREMIUM_USER) {
-            totalDiscount = totalDiscount.add(premiumUserDiscountStrategy.calculateDiscount(orderTotal));
-        }
-        
-        // Apply high order discount (5% off) if order > $500 (applies to all users)
-        BigDecimal highOrderDiscount = highOrderDiscountStrategy.calculateDiscount(orderTotal);
-        totalDiscount = totalDiscount.add(highOrderDiscount);
-        
-        return totalDiscount;
+    public Discount calculateTotalDiscount(long orderTotalCents, Role userRole) {
+        return table.get().evaluate(orderTotalCents, userRole, System.currentTimeMillis());
     }
 }
-
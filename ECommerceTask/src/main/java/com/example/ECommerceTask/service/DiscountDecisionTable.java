@@ -0,0 +1,153 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Entity.DiscountRule;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.domain.Money;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, compiled form of the discount rules.
+ * <p>
+ * Inactive rules are dropped and the rest are flattened into one array per role,
+ * in evaluation order, with amounts in cents and windows in epoch millis. An
+ * evaluation is a single pass over the role's array with no locking. The
+ * instants at which any window opens or closes are kept sorted, so callers can
+ * tell whether two evaluation times fall in the same period.
+ */
+public final class DiscountDecisionTable {
+
+    private static final Role[] ROLES = Role.values();
+
+    private final long version;
+    private final CompiledRule[][] rulesByRole;
+    private final long[] windowBoundaries;
+
+    private DiscountDecisionTable(long version, CompiledRule[][] rulesByRole, long[] windowBoundaries) {
+        this.version = version;
+        this.rulesByRole = rulesByRole;
+        this.windowBoundaries = windowBoundaries;
+    }
+
+    /**
+     * @param rules rules in any order; they are sorted by priority, then id
+     * @param version identifies this set of rules, e.g. for cache keys
+     */
+    public static DiscountDecisionTable compile(List<DiscountRule> rules, long version) {
+        List<DiscountRule> active = new ArrayList<>();
+        for (DiscountRule rule : rules) {
+            if (Boolean.TRUE.equals(rule.getActive())) {
+                active.add(rule);
+            }
+        }
+        active.sort(Comparator.comparing(DiscountRule::getPriority)
+                .thenComparing(DiscountRule::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        CompiledRule[][] rulesByRole = new CompiledRule[ROLES.length][];
+        for (Role role : ROLES) {
+            List<CompiledRule> compiled = new ArrayList<>();
+            for (DiscountRule rule : active) {
+                if (rule.getRole() == null || rule.getRole() == role) {
+                    compiled.add(compile(rule));
+                }
+            }
+            rulesByRole[role.ordinal()] = compiled.toArray(new CompiledRule[0]);
+        }
+
+        long[] boundaries = new long[active.size() * 2];
+        int count = 0;
+        for (DiscountRule rule : active) {
+            if (rule.getStartsAt() != null) {
+                boundaries[count++] = toMillis(rule.getStartsAt(), Long.MIN_VALUE);
+            }
+            if (rule.getEndsAt() != null) {
+                boundaries[count++] = toMillis(rule.getEndsAt(), Long.MAX_VALUE);
+            }
+        }
+        long[] windowBoundaries = Arrays.stream(boundaries, 0, count).sorted().distinct().toArray();
+        return new DiscountDecisionTable(version, rulesByRole, windowBoundaries);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Latest instant at or before {@code nowMillis} at which a rule's window opens
+     * or closes, or {@link Long#MIN_VALUE} if there is none. Evaluations at two
+     * times with the same result here see the same rules.
+     */
+    public long windowStart(long nowMillis) {
+        int position = Arrays.binarySearch(windowBoundaries, nowMillis);
+        if (position >= 0) {
+            return windowBoundaries[position];
+        }
+        int insertion = -position - 1;
+        return insertion == 0 ? Long.MIN_VALUE : windowBoundaries[insertion - 1];
+    }
+
+    /**
+     * @param subtotalCents order subtotal before discounts
+     * @param nowMillis evaluation time, checked against each rule's window
+     */
+    public Discount evaluate(long subtotalCents, Role role, long nowMillis) {
+        long discount = 0;
+        List<AppliedDiscount> applied = null;
+        for (CompiledRule rule : rulesByRole[role.ordinal()]) {
+            if (subtotalCents <= rule.subtotalAboveCents
+                    || nowMillis < rule.startsAtMillis || nowMillis >= rule.endsAtMillis) {
+                continue;
+            }
+            long amount = Math.min(Money.percentage(subtotalCents, rule.basisPoints), rule.maxDiscountCents);
+            discount += amount;
+            if (applied == null) {
+                applied = new ArrayList<>(2);
+            }
+            applied.add(new AppliedDiscount(rule.name, amount));
+            if (rule.stopProcessing) {
+                break;
+            }
+        }
+        return applied == null ? Discount.NONE : new Discount(discount, applied);
+    }
+
+    private static CompiledRule compile(DiscountRule rule) {
+        return new CompiledRule(
+                rule.getName(),
+                rule.getSubtotalAbove() == null ? -1 : Money.toCents(rule.getSubtotalAbove()),
+                // Percent with two decimals is a whole number of basis points
+                rule.getPercentage().movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact(),
+                rule.getMaxDiscount() == null ? Long.MAX_VALUE : Money.toCents(rule.getMaxDiscount()),
+                Boolean.TRUE.equals(rule.getStopProcessing()),
+                toMillis(rule.getStartsAt(), Long.MIN_VALUE),
+                toMillis(rule.getEndsAt(), Long.MAX_VALUE));
+    }
+
+    private static long toMillis(LocalDateTime time, long unbounded) {
+        return time == null ? unbounded : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record CompiledRule(String name, long subtotalAboveCents, int basisPoints, long maxDiscountCents,
+                                boolean stopProcessing, long startsAtMillis, long endsAtMillis) {
+    }
+
+    /**
+     * Total discount in cents and the rules that produced it, in evaluation order.
+     */
+    public record Discount(long cents, List<AppliedDiscount> appliedRules) {
+
+        public static final Discount NONE = new Discount(0, List.of());
+    }
+
+    /**
+     * One matching rule and the amount it contributed, in cents.
+     */
+    public record AppliedDiscount(String rule, long cents) {
+    }
+}
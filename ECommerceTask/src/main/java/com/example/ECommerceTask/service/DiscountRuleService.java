@@ -0,0 +1,17 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.dto.discount.DiscountRuleRequest;
+import com.example.ECommerceTask.dto.discount.DiscountRuleResponse;
+
+import java.util.List;
+
+public interface DiscountRuleService {
+
+    DiscountRuleResponse create(DiscountRuleRequest request);
+
+    DiscountRuleResponse update(Long id, DiscountRuleRequest request);
+
+    void delete(Long id);
+
+    List<DiscountRuleResponse> getAll();
+}
@@ -0,0 +1,178 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Entity.IdempotencyKey;
+import com.example.ECommerceTask.dto.order.OrderItemRequest;
+import com.example.ECommerceTask.dto.order.OrderRequest;
+import com.example.ECommerceTask.dto.order.OrderResponse;
+import com.example.ECommerceTask.exception.IdempotencyKeyMismatchException;
+import com.example.ECommerceTask.repository.IdempotencyKeyRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes order creation safe to retry. The first request for a key creates the
+ * order; concurrent duplicates wait on the same in-flight result and later
+ * duplicates get the stored order back. A key is bound to a hash of the request
+ * it was first used with; reusing it for a different request is rejected.
+ * <p>
+ * Keys are kept in a bounded, expiring in-memory cache in front of the
+ * {@code idempotency_keys} table, which is written in the same transaction as
+ * the order. Both expire after {@code idempotency.ttl-seconds}. An entry evicted
+ * from memory early is still found in the table.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderService orderService;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlSeconds;
+    private final ConcurrentMap<String, Entry> entries;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            OrderService orderService,
+            OptimisticLockRetrier optimisticLockRetrier,
+            PlatformTransactionManager transactionManager,
+            @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${idempotency.max-entries:10000}") long maxEntries) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.orderService = orderService;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlSeconds = ttlSeconds;
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.entries = cache.asMap();
+    }
+
+    public OrderResponse execute(String key, AuthenticatedUser user, OrderRequest request,
+                                 Supplier<OrderResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        String entryKey = user.getUsername() + ':' + key;
+        Entry entry = new Entry(requestHash);
+        Entry existing = entries.putIfAbsent(entryKey, entry);
+        if (existing != null) {
+            requireSameRequest(existing.requestHash, requestHash);
+            return await(existing.response);
+        }
+        return run(entryKey, entry, key, user, action);
+    }
+
+    private OrderResponse run(String entryKey, Entry entry, String key, AuthenticatedUser user,
+                              Supplier<OrderResponse> action) {
+        try {
+            OrderResponse response = findStored(key, user, entry.requestHash)
+                    .orElseGet(() -> create(key, user, entry.requestHash, action));
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            entries.remove(entryKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private OrderResponse create(String key, AuthenticatedUser user, String requestHash,
+                                 Supplier<OrderResponse> action) {
+        try {
+            // Each retry runs a whole new transaction for the order and the key
+            return optimisticLockRetrier.execute("order.create", () -> transactionTemplate.execute(status -> {
+                OrderResponse response = action.get();
+                idempotencyKeyRepository.save(
+                        new IdempotencyKey(key, user.getUsername(), response.getId(), requestHash));
+                return response;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // The key was stored concurrently elsewhere; our order was rolled back
+            return findStored(key, user, requestHash).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<OrderResponse> findStored(String key, AuthenticatedUser user, String requestHash) {
+        return idempotencyKeyRepository.findByUsernameAndKey(user.getUsername(), key)
+                .filter(stored -> stored.getCreatedAt() == null
+                        || stored.getCreatedAt().isAfter(LocalDateTime.now().minusSeconds(ttlSeconds)))
+                .map(stored -> {
+                    requireSameRequest(stored.getRequestHash(), requestHash);
+                    return orderService.getById(stored.getOrderId(), user);
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusSeconds(ttlSeconds));
+    }
+
+    /**
+     * SHA-256 of the order lines in request order, as hex.
+     */
+    static String hash(OrderRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        for (OrderItemRequest item : request.getItems()) {
+            canonical.append(item.getProductId()).append(':').append(item.getQuantity()).append(';');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void requireSameRequest(String expectedHash, String requestHash) {
+        if (!expectedHash.equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(
+                    "Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private static OrderResponse await(CompletableFuture<OrderResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String requestHash;
+        private final CompletableFuture<OrderResponse> response = new CompletableFuture<>();
+
+        private Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ECommerceTask.service;
+
+import java.util.Map;
+
+public interface InventoryService {
+
+    /**
+     * Reserves stock for the current transaction. The reservation is committed
+     * when the transaction commits and released when it rolls back.
+     *
+     * @return false if not enough stock is available
+     */
+    boolean reserve(Long productId, int quantity);
+
+    /**
+     * Reserves stock for several products at once, in ascending product id order.
+     * Either every product is reserved or none is.
+     *
+     * @return the id of the first product without enough stock, or null if all were reserved
+     */
+    Long reserveAll(Map<Long, Integer> quantities);
+
+    int getAvailable(Long productId);
+
+    void register(Long productId, int quantity);
+
+    void setQuantity(Long productId, int quantity);
+
+    void remove(Long productId);
+
+    void flush();
+}
@@ -0,0 +1,83 @@
+package com.example.ECommerceTask.service;
+
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a transactional action when it loses an optimistic-locking race.
+ * <p>
+ * Waits between attempts use exponential backoff with full jitter, so callers
+ * contending on the same product spread out instead of colliding again. The
+ * action must start its own transaction; each attempt sees fresh data.
+ * <p>
+ * Metrics: {@code optimistic.lock.conflicts}, {@code optimistic.lock.retries}
+ * and {@code optimistic.lock.exhausted}, tagged by operation and entity.
+ */
+@Service
+public class OptimisticLockRetrier {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetrier.class);
+
+    @Value("${optimistic-lock.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${optimistic-lock.backoff-ms:10}")
+    private long backoffMs;
+
+    @Value("${optimistic-lock.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                String entity = entityName(e);
+                Metrics.counter("optimistic.lock.conflicts", "operation", operation, "entity", entity).increment();
+                log.info("Version conflict in {} on {} (attempt {} of {})",
+                        operation, describe(e), attempt, maxAttempts);
+
+                if (attempt >= maxAttempts) {
+                    Metrics.counter("optimistic.lock.exhausted", "operation", operation, "entity", entity).increment();
+                    throw e;
+                }
+                Metrics.counter("optimistic.lock.retries", "operation", operation, "entity", entity).increment();
+                pause(attempt, e);
+            }
+        }
+    }
+
+    private void pause(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private static String entityName(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException objectFailure
+                && objectFailure.getPersistentClassName() != null) {
+            String className = objectFailure.getPersistentClassName();
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
+        return "unknown";
+    }
+
+    private static String describe(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException objectFailure) {
+            return entityName(e) + "#" + objectFailure.getIdentifier();
+        }
+        return entityName(e);
+    }
+}
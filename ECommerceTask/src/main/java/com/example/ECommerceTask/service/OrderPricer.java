@@ -0,0 +1,89 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.domain.Money;
+import com.example.ECommerceTask.service.DiscountDecisionTable.AppliedDiscount;
+import com.example.ECommerceTask.service.DiscountDecisionTable.Discount;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices an order in cents: line subtotals, the order discount and its split
+ * across lines. Line discounts are proportional to each line's subtotal and
+ * the rounding remainder goes to the largest line, so line totals always add up
+ * to the order total. A discount larger than the subtotal is capped at it, and
+ * the applied rules' amounts are scaled down the same way.
+ */
+@Service
+public class OrderPricer {
+
+    private final DiscountCalculatorService discountCalculatorService;
+
+    public OrderPricer(DiscountCalculatorService discountCalculatorService) {
+        this.discountCalculatorService = discountCalculatorService;
+    }
+
+    /**
+     * @param unitPriceCents unit price of each line
+     * @param quantities quantity of each line
+     */
+    public OrderPricing price(long[] unitPriceCents, int[] quantities, Role role) {
+        int lines = unitPriceCents.length;
+        long[] lineSubtotals = new long[lines];
+        long subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            lineSubtotals[i] = Money.times(unitPriceCents[i], quantities[i]);
+            subtotal = Math.addExact(subtotal, lineSubtotals[i]);
+        }
+
+        Discount discount = discountCalculatorService.calculateTotalDiscount(subtotal, role);
+        long discountCents = Math.min(discount.cents(), subtotal);
+        long[] lineDiscounts = new long[lines];
+        Money.allocate(discountCents, lineSubtotals, lineDiscounts);
+
+        return new OrderPricing(subtotal, discountCents, lineSubtotals, lineDiscounts,
+                capRules(discount, discountCents));
+    }
+
+    /**
+     * Rule amounts scaled down to the capped total, so they add up to the discount
+     * actually given. Uncapped discounts are returned as they are.
+     */
+    private static List<AppliedDiscount> capRules(Discount discount, long discountCents) {
+        List<AppliedDiscount> rules = discount.appliedRules();
+        if (discountCents == discount.cents()) {
+            return rules;
+        }
+        long[] ruleCents = new long[rules.size()];
+        for (int i = 0; i < ruleCents.length; i++) {
+            ruleCents[i] = rules.get(i).cents();
+        }
+        long[] capped = new long[ruleCents.length];
+        Money.allocate(discountCents, ruleCents, capped);
+
+        List<AppliedDiscount> result = new ArrayList<>(rules.size());
+        for (int i = 0; i < capped.length; i++) {
+            result.add(new AppliedDiscount(rules.get(i).rule(), capped[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Amounts in cents; index {@code i} of the line arrays is line {@code i} of the order.
+     * {@code appliedDiscounts} lists the discount rules that matched.
+     */
+    public record OrderPricing(long subtotalCents, long discountCents,
+                               long[] lineSubtotalCents, long[] lineDiscountCents,
+                               List<AppliedDiscount> appliedDiscounts) {
+
+        public long totalCents() {
+            return subtotalCents - discountCents;
+        }
+
+        public long lineTotalCents(int line) {
+            return lineSubtotalCents[line] - lineDiscountCents[line];
+        }
+    }
+}
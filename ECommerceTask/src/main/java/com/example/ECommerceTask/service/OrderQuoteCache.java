@@ -0,0 +1,49 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.dto.order.OrderQuoteResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of order quotes.
+ * <p>
+ * The key carries the price and discount-rule versions and the start of the
+ * current rule window, so a price or rule change, or a rule's date window
+ * opening or closing, simply stops matching older entries and nothing has to be
+ * invalidated. The expiry only keeps unused entries from piling up.
+ */
+@Service
+public class OrderQuoteCache {
+
+    private final Cache<Key, OrderQuoteResponse> cache;
+
+    public OrderQuoteCache(
+            @Value("${orders.quote.cache.max-size:10000}") long maximumSize,
+            @Value("${orders.quote.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the cached quote, computing it on a miss. Exceptions thrown by the
+     * loader propagate and cache nothing.
+     */
+    public OrderQuoteResponse get(Key key, Function<Key, OrderQuoteResponse> loader) {
+        return cache.get(key, loader);
+    }
+
+    /**
+     * @param cart normalized cart: {@code productId:quantity} pairs in product order
+     * @param rulesWindowStart see {@link DiscountCalculatorService#rulesWindowStart()}
+     */
+    public record Key(String cart, Role role, long priceVersion, long rulesVersion, long rulesWindowStart) {
+    }
+}
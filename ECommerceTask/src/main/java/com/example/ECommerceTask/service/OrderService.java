@@ -1,18 +1,46 @@
 package com.example.ECommerceTask.service;
 
+import com.example.ECommerceTask.domain.Enums.ExportFormat;
+import com.example.ECommerceTask.dto.order.BatchOrderResponse;
+import com.example.ECommerceTask.dto.order.OrderPage;
+import com.example.ECommerceTask.dto.order.OrderQuoteResponse;
 import com.example.ECommerceTask.dto.order.OrderRequest;
 import com.example.ECommerceTask.dto.order.OrderResponse;
+import com.example.ECommerceTask.security.AuthenticatedUser;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderService {
 
-    OrderResponse create(OrderRequest request, String username);
+    OrderResponse create(OrderRequest request, AuthenticatedUser user);
 
-    OrderResponse getById(Long id, String username);
+    /**
+     * Creates several orders in one transaction. An order with an unknown product or
+     * too little stock is rejected on its own and the others are still created. A
+     * product changed concurrently fails the whole batch, which is then retried as a
+     * unit and ends in 409 once retries run out.
+     */
+    BatchOrderResponse createBatch(List<OrderRequest> requests, AuthenticatedUser user);
 
-    List<OrderResponse> getOrdersByUser(String username);
+    /**
+     * Prices the order exactly as {@link #create} would, without reserving stock or saving anything.
+     */
+    OrderQuoteResponse quote(OrderRequest request, AuthenticatedUser user);
 
-    List<OrderResponse> getAllOrders();
+    OrderResponse getById(Long id, AuthenticatedUser user);
+
+    /**
+     * Entity tag of an order; orders never change, so it only depends on id and total.
+     */
+    String getETag(Long id, AuthenticatedUser user);
+
+    List<OrderResponse> getOrdersByUser(AuthenticatedUser user);
+
+    OrderPage getAllOrders(String cursor, Integer size);
+
+    void exportOrders(LocalDateTime since, ExportFormat format, OutputStream output) throws IOException;
 }
 
@@ -0,0 +1,198 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a dedicated pool sized to the
+ * number of cores, so a login storm cannot occupy every request thread with
+ * BCrypt work.
+ * <p>
+ * At most one hash per thread plus {@code security.password-hashing.queue-capacity}
+ * may be in flight: beyond that, or when a hash waits longer than
+ * {@code security.password-hashing.timeout-ms}, the caller gets a
+ * {@link ServiceBusyException} (503 with Retry-After) instead of queueing
+ * indefinitely. BCrypt cannot be interrupted, so a hash that already started
+ * when its caller timed out keeps its place until it finishes; one still
+ * queued is dropped.
+ * <p>
+ * Metrics: {@code password.hash.duration} (by operation),
+ * {@code password.hash.queue.depth}, {@code password.hash.active} and
+ * {@code password.hash.rejected}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer = Metrics.timer("password.hash.duration", "operation", "encode");
+    private final Timer matchesTimer = Metrics.timer("password.hash.duration", "operation", "matches");
+    private final Counter rejected = Metrics.counter("password.hash.rejected");
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        this.maxInFlight = threads + queueCapacity;
+        this.inFlight = new Semaphore(maxInFlight);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // The semaphore bounds the work; the queue itself never rejects
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()) {
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable failure) {
+                // Only now is the thread free, even if the caller gave up long ago
+                inFlight.release();
+            }
+        };
+
+        Metrics.gauge("password.hash.queue.depth", executor, pool -> pool.getQueue().size());
+        Metrics.gauge("password.hash.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    public String encode(String rawPassword) {
+        return submit(timed(encodeTimer, () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(timed(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * True when the stored hash is weaker than the current calibrated cost.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private static <T> Callable<T> timed(Timer timer, Supplier<T> action) {
+        return () -> timer.record(action);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        if (!inFlight.tryAcquire()) {
+            throw busy();
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            throw busy();
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Drops a hash whose caller stopped waiting. A queued hash is removed and its
+     * place freed; a running one is left to finish, since interrupting BCrypt has
+     * no effect, and frees its place in {@code afterExecute}.
+     */
+    private void abandon(Future<?> future) {
+        if (executor.remove((Runnable) future)) {
+            inFlight.release();
+        }
+    }
+
+    private ServiceBusyException busy() {
+        rejected.increment();
+        return new ServiceBusyException("Too many concurrent login requests, please retry", retryAfterSeconds);
+    }
+
+    /**
+     * Hashes queued or running, including ones whose callers already timed out.
+     */
+    int inFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Picks the BCrypt cost whose hash time is closest to, without exceeding, the
+     * target on this machine. Each cost step doubles the work, so one measurement
+     * at the minimum cost is enough to extrapolate.
+     */
+    public static int calibrateStrength(long targetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration"); // warm-up
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        int strength = MIN_STRENGTH;
+        double estimatedMs = bestNanos / 1_000_000.0;
+        while (strength < MAX_STRENGTH && estimatedMs * 2 <= targetMs) {
+            strength++;
+            estimatedMs *= 2;
+        }
+        log.info("BCrypt cost {} selected (about {} ms per hash, target {} ms)",
+                strength, Math.round(estimatedMs), targetMs);
+        return strength;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.dto.product.ProductCacheStats;
+import com.example.ECommerceTask.dto.product.ProductResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of product responses keyed by id.
+ * <p>
+ * Entries are invalidated only once the writing transaction has committed, so a
+ * reader can never repopulate the cache with a row that is about to change.
+ */
+@Service
+public class ProductCache {
+
+    private final Cache<Long, ProductResponse> cache;
+
+    public ProductCache(@Value("${products.cache.max-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached response, loading it on a miss. A loader returning
+     * {@code null} caches nothing.
+     */
+    public ProductResponse get(Long productId, Function<Long, ProductResponse> loader) {
+        return cache.get(productId, loader);
+    }
+
+    /**
+     * Drops the entry after the current transaction commits, or right away when
+     * no transaction is active.
+     */
+    public void invalidateAfterCommit(Long productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(productId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(productId);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ProductCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new ProductCacheStats(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
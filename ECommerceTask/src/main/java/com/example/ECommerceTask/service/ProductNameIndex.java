@@ -0,0 +1,318 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over product names for substring search.
+ * <p>
+ * Each product gets a dense int ordinal; every trigram of its lower-cased name
+ * maps to a sorted int array of ordinals. A query intersects the posting lists
+ * of its trigrams and then checks the candidates' names, since sharing all
+ * trigrams does not guarantee a substring match. Ordinals of removed products
+ * are reused and empty posting lists dropped, so the index stays proportional
+ * to the live catalog.
+ */
+@Service
+public class ProductNameIndex {
+
+    /**
+     * Shortest query the index can answer; shorter ones fall back to the database.
+     */
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> ordinalsByProductId = new HashMap<>();
+    private final PostingTable postings = new PostingTable();
+    private long[] productIds = new long[1024];
+    private String[] names = new String[1024];
+    private int nextOrdinal;
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+
+    public ProductNameIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @PostConstruct
+    void build() {
+        for (Object[] row : productRepository.findAllNames()) {
+            index((Long) row[0], (String) row[1]);
+        }
+    }
+
+    public void index(Long productId, String name) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsByProductId.get(productId);
+            if (ordinal == null) {
+                ordinal = allocateOrdinal(productId);
+            } else {
+                removePostings(ordinal);
+            }
+            String normalized = normalize(name);
+            names[ordinal] = normalized;
+            for (long trigram : trigrams(normalized)) {
+                postings.getOrCreate(trigram).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsByProductId.remove(productId);
+            if (ordinal != null) {
+                removePostings(ordinal);
+                names[ordinal] = null;
+                if (freeCount == freeOrdinals.length) {
+                    freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+                }
+                freeOrdinals[freeCount++] = ordinal;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of products whose name contains the query, ascending, or null if
+     * the query is shorter than {@link #MIN_QUERY_LENGTH}
+     */
+    public long[] search(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (long trigram : trigrams(normalized)) {
+                PostingList list = postings.get(trigram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            // Intersect starting from the rarest trigram
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            PostingList smallest = lists.get(0);
+            long[] matches = new long[smallest.size];
+            int matchCount = 0;
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int ordinal = smallest.ordinals[i];
+                for (int j = 1; j < lists.size(); j++) {
+                    if (!lists.get(j).contains(ordinal)) {
+                        continue candidates;
+                    }
+                }
+                if (names[ordinal].contains(normalized)) {
+                    matches[matchCount++] = productIds[ordinal];
+                }
+            }
+
+            long[] result = Arrays.copyOf(matches, matchCount);
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of ordinals handed out so far, including free ones waiting for reuse.
+     */
+    int ordinalCount() {
+        lock.readLock().lock();
+        try {
+            return nextOrdinal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocateOrdinal(Long productId) {
+        int ordinal;
+        if (freeCount > 0) {
+            ordinal = freeOrdinals[--freeCount];
+        } else {
+            if (nextOrdinal == productIds.length) {
+                productIds = Arrays.copyOf(productIds, productIds.length * 2);
+                names = Arrays.copyOf(names, names.length * 2);
+            }
+            ordinal = nextOrdinal++;
+        }
+        productIds[ordinal] = productId;
+        ordinalsByProductId.put(productId, ordinal);
+        return ordinal;
+    }
+
+    private void removePostings(int ordinal) {
+        for (long trigram : trigrams(names[ordinal])) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct trigrams of the string, ascending, each packed as three 16-bit chars.
+     */
+    private static long[] trigrams(String value) {
+        long[] trigrams = new long[Math.max(0, value.length() - MIN_QUERY_LENGTH + 1)];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Open-addressing map from packed trigram to posting list, so lookups do not
+     * box the key. Linear probing with backward-shift deletion, kept at most half full.
+     */
+    private static final class PostingTable {
+
+        private long[] keys = new long[1024];
+        private PostingList[] values = new PostingList[1024];
+        private int size;
+
+        private PostingList get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        private PostingList getOrCreate(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            PostingList list = new PostingList();
+            keys[i] = key;
+            values[i] = list;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return list;
+        }
+
+        private void remove(long key) {
+            int mask = keys.length - 1;
+            int gap = slot(key, mask);
+            while (values[gap] != null && keys[gap] != key) {
+                gap = (gap + 1) & mask;
+            }
+            if (values[gap] == null) {
+                return;
+            }
+            values[gap] = null;
+            size--;
+
+            // Shift later entries of the probe run back so lookups never stop at the gap
+            for (int i = (gap + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+                int home = slot(keys[i], mask);
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    values[i] = null;
+                    gap = i;
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            PostingList[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new PostingList[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] != null) {
+                    int i = slot(oldKeys[j], mask);
+                    while (values[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Sorted, growable array of ordinals.
+     */
+    private static final class PostingList {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, position, ordinals, position + 1, size - position);
+            ordinals[position] = ordinal;
+            size++;
+        }
+
+        private boolean remove(int ordinal) {
+            int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.ECommerceTask.service;
 
+import com.example.ECommerceTask.dto.product.ProductCacheStats;
 import com.example.ECommerceTask.dto.product.ProductRequest;
 import com.example.ECommerceTask.dto.product.ProductResponse;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -16,13 +20,27 @@ public interface ProductService {
 
     ProductResponse getById(Long id);
 
+    /**
+     * Entity tag of the product's current representation (version and live stock).
+     */
+    String getETag(Long id);
+
+    /**
+     * Entity tag of a listing, derived from the catalog-wide change counter and
+     * the query that produced it.
+     */
+    String getSearchETag(String query);
+
+    ProductCacheStats getCacheStats();
+
     List<ProductResponse> getAll();
 
-    List<ProductResponse> search(
+    Page<ProductResponse> search(
             String name,
             BigDecimal minPrice,
             BigDecimal maxPrice,
-            Boolean available
+            Boolean available,
+            Pageable pageable
     );
 
     void decreaseInventory(Long productId, Integer quantity);
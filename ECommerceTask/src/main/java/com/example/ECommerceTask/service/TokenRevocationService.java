@@ -0,0 +1,188 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Entity.RevokedToken;
+import com.example.ECommerceTask.repository.RevokedTokenRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked JWTs, stored in {@code revoked_tokens} by jti and checked on every
+ * authenticated request.
+ * <p>
+ * An in-memory Bloom filter of all stored keys answers the common case (token
+ * not revoked) without touching the database; only probable hits are confirmed
+ * against the table. Revoking all of a user's tokens stores a single
+ * {@code uid:<id>} cutoff row that matches every token issued up to that moment.
+ * <p>
+ * The filter is rebuilt from the table every {@code jwt.revocation.rebuild-interval-ms},
+ * after expired rows are pruned, which also picks up revocations made by other
+ * instances.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final double falsePositiveRate;
+    private final int expectedEntries;
+    private final long tokenLifetimeMs;
+
+    // Keys revoked here since the last rebuild started, re-added to the next filter
+    private final Set<String> recentKeys = ConcurrentHashMap.newKeySet();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jwt.revocation.expected-entries:10000}") int expectedEntries,
+            @Value("${jwt.expiration:86400000}") long tokenLifetimeMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.expectedEntries = expectedEntries;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(AuthenticatedUser user) {
+        BloomFilter current = filter;
+        if (current.mightContain(user.getTokenId()) && revokedTokenRepository.existsById(user.getTokenId())) {
+            return true;
+        }
+
+        String userKey = userKey(user.getId());
+        if (!current.mightContain(userKey)) {
+            return false;
+        }
+        // iat has second precision, so a token issued in the cutoff's second counts as revoked
+        LocalDateTime issuedAt = toLocalDateTime(user.getIssuedAt());
+        return revokedTokenRepository.findById(userKey)
+                .map(cutoff -> !issuedAt.isAfter(cutoff.getRevokedAt().truncatedTo(ChronoUnit.SECONDS)))
+                .orElse(false);
+    }
+
+    /**
+     * Revokes the token the user authenticated with (logout).
+     */
+    public void revoke(AuthenticatedUser user) {
+        store(new RevokedToken(user.getTokenId(), user.getId(), LocalDateTime.now(),
+                toLocalDateTime(user.getExpiresAt())));
+    }
+
+    /**
+     * Revokes every token issued to the user so far.
+     */
+    public void revokeAllForUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        store(new RevokedToken(userKey(userId), userId, now, now.plus(tokenLifetimeMs, ChronoUnit.MILLIS)));
+    }
+
+    @Scheduled(
+            initialDelayString = "${jwt.revocation.rebuild-interval-ms:60000}",
+            fixedDelayString = "${jwt.revocation.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        int pruned = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+
+        List<String> keys = revokedTokenRepository.findAllJtis();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, keys.size() * 2), falsePositiveRate);
+        keys.forEach(rebuilt::add);
+        // Revocations committed after the query above are only in the old filter
+        recentKeys.forEach(rebuilt::add);
+        filter = rebuilt;
+        keys.forEach(recentKeys::remove);
+
+        log.debug("Revocation filter rebuilt with {} keys ({} expired pruned)", keys.size(), pruned);
+    }
+
+    private void store(RevokedToken token) {
+        recentKeys.add(token.getJti());
+        revokedTokenRepository.save(token);
+        filter.add(token.getJti());
+    }
+
+    private static String userKey(Long userId) {
+        return "uid:" + userId;
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    /**
+     * Fixed-size Bloom filter over strings using double hashing. Adds and
+     * lookups are lock-free.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        private BloomFilter(int expectedEntries, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        }
+
+        private void add(String key) {
+            long h1 = hash(key, 0xcbf29ce484222325L);
+            long h2 = hash(key, 0x9e3779b97f4a7c15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean mightContain(String key) {
+            long h1 = hash(key, 0xcbf29ce484222325L);
+            long h2 = hash(key, 0x9e3779b97f4a7c15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the chars, finished with the SplitMix64 mixer
+        private static long hash(String key, long seed) {
+            long h = seed;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 30;
+            h *= 0xbf58476d1ce4e5b9L;
+            h ^= h >>> 27;
+            h *= 0x94d049bb133111ebL;
+            h ^= h >>> 31;
+            return h;
+        }
+    }
+}
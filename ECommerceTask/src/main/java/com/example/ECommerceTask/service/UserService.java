@@ -13,6 +13,8 @@ public interface UserService {
 
     void delete(Long id);
 
+    void revokeTokens(Long id);
+
     UserResponse getById(Long id);
 
     List<UserResponse> getAll();
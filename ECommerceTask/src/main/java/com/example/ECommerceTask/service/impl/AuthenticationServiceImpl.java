@@ -6,51 +6,57 @@ import com.example.ECommerceTask.dto.auth.LoginResponse;
 import com.example.ECommerceTask.dto.user.UserRequest;
 import com.example.ECommerceTask.dto.user.UserResponse;
 import com.example.ECommerceTask.repository.UserRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
 import com.example.ECommerceTask.service.AuthenticationService;
 import com.example.ECommerceTask.service.JwtTokenService;
+import com.example.ECommerceTask.service.PasswordHashingService;
+import com.example.ECommerceTask.service.TokenRevocationService;
 import com.example.ECommerceTask.service.UserService;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenService jwtTokenService;
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // Hash checked for unknown usernames, so they take as long as a wrong password
+    private volatile String unknownUserHash;
 
     public AuthenticationServiceImpl(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
-            AuthenticationManager authenticationManager,
+            PasswordHashingService passwordHashingService,
             JwtTokenService jwtTokenService,
-            UserService userService) {
+            UserService userService,
+            TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.authenticationManager = authenticationManager;
+        this.passwordHashingService = passwordHashingService;
         this.jwtTokenService = jwtTokenService;
         this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
     public LoginResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+        // BCrypt runs on the bounded hashing pool, not on the request thread
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+        String encodedPassword = user != null ? user.getPassword() : unknownUserHash();
+        boolean matches = passwordHashingService.matches(request.getPassword(), encodedPassword);
+        if (user == null || !matches) {
+            throw new BadCredentialsException("Invalid username or password");
+        }
 
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // Re-hash with the current cost while the plain password is at hand
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            user = userRepository.save(user);
+        }
 
-        String token = jwtTokenService.generateToken(user.getUsername(), user.getRole().name());
+        String token = jwtTokenService.generateToken(user.getId(), user.getUsername(), user.getRole().name());
 
         return new LoginResponse(token, user.getUsername(), user.getRole());
     }
@@ -59,5 +65,19 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     public UserResponse register(UserRequest request) {
         return userService.create(request);
     }
+
+    @Override
+    public void logout(AuthenticatedUser user) {
+        tokenRevocationService.revoke(user);
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordHashingService.encode("unknown-user-" + System.nanoTime());
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
 }
 
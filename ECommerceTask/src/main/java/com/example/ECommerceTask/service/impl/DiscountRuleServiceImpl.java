@@ -0,0 +1,117 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.DiscountRule;
+import com.example.ECommerceTask.dto.discount.DiscountRuleRequest;
+import com.example.ECommerceTask.dto.discount.DiscountRuleResponse;
+import com.example.ECommerceTask.exception.ResourceNotFoundException;
+import com.example.ECommerceTask.repository.DiscountRuleRepository;
+import com.example.ECommerceTask.service.DiscountCalculatorService;
+import com.example.ECommerceTask.service.DiscountRuleService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Admin changes to the discount rules. Each change takes effect for new orders
+ * as soon as it commits.
+ */
+@Service
+public class DiscountRuleServiceImpl implements DiscountRuleService {
+
+    private final DiscountRuleRepository discountRuleRepository;
+    private final DiscountCalculatorService discountCalculatorService;
+
+    public DiscountRuleServiceImpl(
+            DiscountRuleRepository discountRuleRepository,
+            DiscountCalculatorService discountCalculatorService) {
+        this.discountRuleRepository = discountRuleRepository;
+        this.discountCalculatorService = discountCalculatorService;
+    }
+
+    @Override
+    @Transactional
+    public DiscountRuleResponse create(DiscountRuleRequest request) {
+        if (discountRuleRepository.existsByName(request.getName())) {
+            throw new IllegalArgumentException("Discount rule name already exists");
+        }
+
+        DiscountRule rule = new DiscountRule();
+        apply(rule, request);
+        rule = discountRuleRepository.save(rule);
+        discountCalculatorService.reloadAfterCommit();
+        return mapToResponse(rule);
+    }
+
+    @Override
+    @Transactional
+    public DiscountRuleResponse update(Long id, DiscountRuleRequest request) {
+        DiscountRule rule = discountRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Discount rule not found"));
+
+        // Check if name is being changed and if it already exists
+        if (!rule.getName().equals(request.getName()) &&
+                discountRuleRepository.existsByName(request.getName())) {
+            throw new IllegalArgumentException("Discount rule name already exists");
+        }
+
+        apply(rule, request);
+        rule = discountRuleRepository.saveAndFlush(rule);
+        discountCalculatorService.reloadAfterCommit();
+        return mapToResponse(rule);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        DiscountRule rule = discountRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Discount rule not found"));
+        discountRuleRepository.delete(rule);
+        discountCalculatorService.reloadAfterCommit();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DiscountRuleResponse> getAll() {
+        return discountRuleRepository.findAllByOrderByPriorityAscIdAsc()
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void apply(DiscountRule rule, DiscountRuleRequest request) {
+        if (request.getStartsAt() != null && request.getEndsAt() != null
+                && !request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new IllegalArgumentException("endsAt must be after startsAt");
+        }
+
+        rule.setName(request.getName());
+        rule.setRole(request.getRole());
+        rule.setSubtotalAbove(request.getSubtotalAbove());
+        rule.setPercentage(request.getPercentage());
+        rule.setMaxDiscount(request.getMaxDiscount());
+        rule.setPriority(request.getPriority());
+        rule.setStopProcessing(Boolean.TRUE.equals(request.getStopProcessing()));
+        rule.setActive(!Boolean.FALSE.equals(request.getActive()));
+        rule.setStartsAt(request.getStartsAt());
+        rule.setEndsAt(request.getEndsAt());
+    }
+
+    private DiscountRuleResponse mapToResponse(DiscountRule rule) {
+        DiscountRuleResponse response = new DiscountRuleResponse();
+        response.setId(rule.getId());
+        response.setName(rule.getName());
+        response.setRole(rule.getRole());
+        response.setSubtotalAbove(rule.getSubtotalAbove());
+        response.setPercentage(rule.getPercentage());
+        response.setMaxDiscount(rule.getMaxDiscount());
+        response.setPriority(rule.getPriority());
+        response.setStopProcessing(rule.getStopProcessing());
+        response.setActive(rule.getActive());
+        response.setStartsAt(rule.getStartsAt());
+        response.setEndsAt(rule.getEndsAt());
+        response.setUpdatedAt(rule.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.exception.ResourceNotFoundException;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.repository.ProductStockRepository;
+import com.example.ECommerceTask.service.CatalogSnapshot;
+import com.example.ECommerceTask.service.CatalogVersion;
+import com.example.ECommerceTask.service.InventoryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock ledger. Orders reserve and commit stock against per-product
+ * counters; committed changes are written to {@code products.quantity} as net
+ * deltas by a periodic write-behind flush.
+ * <p>
+ * The ledger is the source of truth for available stock while the application
+ * runs, so it assumes a single application instance owns the database. Committed
+ * decrements that have not been flushed yet are lost if the process is killed.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    // Ids of removed products, so a lookup racing with remove() cannot bring the counter back
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public InventoryServiceImpl(
+            ProductRepository productRepository,
+            ProductStockRepository productStockRepository,
+            CatalogSnapshot catalogSnapshot,
+            CatalogVersion catalogVersion,
+            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productStockRepository = productStockRepository;
+        this.catalogSnapshot = catalogSnapshot;
+        this.catalogVersion = catalogVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void loadFromDatabase() {
+        for (Object[] row : productRepository.findAllStockLevels()) {
+            counters.put((Long) row[0], new StockCounter(((Number) row[1]).intValue()));
+        }
+    }
+
+    @Override
+    public boolean reserve(Long productId, int quantity) {
+        return reserveAll(Map.of(productId, quantity)) == null;
+    }
+
+    @Override
+    public Long reserveAll(Map<Long, Integer> quantities) {
+        List<StockCounter> reserved = new ArrayList<>(quantities.size());
+        List<Integer> reservedQuantities = new ArrayList<>(quantities.size());
+
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            StockCounter counter = counter(entry.getKey());
+            if (!counter.tryReserve(entry.getValue())) {
+                for (int i = 0; i < reserved.size(); i++) {
+                    reserved.get(i).release(reservedQuantities.get(i));
+                }
+                return entry.getKey();
+            }
+            reserved.add(counter);
+            reservedQuantities.add(entry.getValue());
+        }
+        catalogVersion.increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (int i = 0; i < reserved.size(); i++) {
+                        if (status == STATUS_COMMITTED) {
+                            reserved.get(i).commit(reservedQuantities.get(i));
+                        } else {
+                            reserved.get(i).release(reservedQuantities.get(i));
+                        }
+                    }
+                    if (status != STATUS_COMMITTED) {
+                        catalogVersion.increment();
+                    }
+                }
+            });
+        } else {
+            for (int i = 0; i < reserved.size(); i++) {
+                reserved.get(i).commit(reservedQuantities.get(i));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getAvailable(Long productId) {
+        return counter(productId).available();
+    }
+
+    @Override
+    public void register(Long productId, int quantity) {
+        counters.put(productId, new StockCounter(quantity));
+        catalogVersion.increment();
+    }
+
+    @Override
+    public void setQuantity(Long productId, int quantity) {
+        StockCounter counter = counter(productId);
+        int reserved = counter.reserved();
+        if (quantity < reserved) {
+            throw new IllegalArgumentException("Quantity cannot be lower than the " + reserved +
+                    " units reserved by orders in progress");
+        }
+
+        // Applied once the product update commits, so a rolled back update leaves the ledger alone
+        afterCommit(() -> {
+            int onHand = counter.adjustOnHand(quantity);
+            if (onHand != quantity) {
+                log.warn("Stock of product {} set to {} instead of {}, the amount now reserved by orders in progress",
+                        productId, onHand, quantity);
+            }
+            refreshSnapshot(List.of(productId));
+            catalogVersion.increment();
+        });
+    }
+
+    @Override
+    public void remove(Long productId) {
+        removed.add(productId);
+        counters.remove(productId);
+        catalogVersion.increment();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Long> productIds = new ArrayList<>();
+            List<Integer> deltas = new ArrayList<>();
+            for (Map.Entry<Long, StockCounter> entry : counters.entrySet()) {
+                int delta = entry.getValue().drainPending();
+                if (delta != 0) {
+                    productIds.add(entry.getKey());
+                    deltas.add(delta);
+                }
+            }
+            if (productIds.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> productStockRepository.adjustQuantities(productIds, deltas));
+            } catch (RuntimeException e) {
+                // Nothing was written; put the deltas back so the next flush retries them
+                for (int i = 0; i < productIds.size(); i++) {
+                    StockCounter counter = counters.get(productIds.get(i));
+                    if (counter != null) {
+                        counter.addPending(deltas.get(i));
+                    }
+                }
+                log.warn("Inventory flush of {} products failed, will retry", productIds.size(), e);
+                return;
+            }
+
+            // The deltas are committed from here on and must not be queued again
+            try {
+                productStockRepository.evictFromCache(productIds);
+                refreshSnapshot(productIds);
+            } catch (RuntimeException e) {
+                log.warn("Inventory flush of {} products committed, but refreshing cached stock failed",
+                        productIds.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void refreshSnapshot(List<Long> productIds) {
+        long[] ids = new long[productIds.size()];
+        int[] quantities = new int[productIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            StockCounter counter = counters.get(productIds.get(i));
+            ids[i] = productIds.get(i);
+            quantities[i] = counter == null ? 0 : counter.available();
+        }
+        catalogSnapshot.updateQuantities(ids, quantities);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private StockCounter counter(Long productId) {
+        StockCounter counter = counters.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+        if (removed.contains(productId)) {
+            throw productNotFound(productId);
+        }
+
+        // Loaded outside the map so the database read does not hold a map bin
+        StockCounter loaded = productRepository.findById(productId)
+                .map(product -> new StockCounter(product.getQuantity()))
+                .orElseThrow(() -> productNotFound(productId));
+        StockCounter existing = counters.putIfAbsent(productId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (removed.contains(productId)) {
+            // remove() ran while the product was loading
+            counters.remove(productId, loaded);
+            throw productNotFound(productId);
+        }
+        return loaded;
+    }
+
+    private static ResourceNotFoundException productNotFound(Long productId) {
+        return new ResourceNotFoundException("Product not found with id: " + productId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Available and reserved stock are packed into one long so reserve, commit,
+     * release and admin adjustments are each a single CAS. Committed changes
+     * accumulate in {@code pending} until the next flush.
+     */
+    static final class StockCounter {
+
+        private final AtomicLong state;
+        private final AtomicLong pending = new AtomicLong();
+
+        StockCounter(int available) {
+            this.state = new AtomicLong(pack(available, 0));
+        }
+
+        int available() {
+            return available(state.get());
+        }
+
+        int reserved() {
+            return reserved(state.get());
+        }
+
+        boolean tryReserve(int quantity) {
+            long current;
+            do {
+                current = state.get();
+                if (available(current) < quantity) {
+                    return false;
+                }
+            } while (!state.compareAndSet(current, pack(available(current) - quantity, reserved(current) + quantity)));
+            return true;
+        }
+
+        void commit(int quantity) {
+            long current;
+            do {
+                current = state.get();
+            } while (!state.compareAndSet(current, pack(available(current), reserved(current) - quantity)));
+            pending.addAndGet(-quantity);
+        }
+
+        void release(int quantity) {
+            long current;
+            do {
+                current = state.get();
+            } while (!state.compareAndSet(current, pack(available(current) + quantity, reserved(current) - quantity)));
+        }
+
+        /**
+         * Moves on-hand stock (available plus reserved) to the given value. The change
+         * is recorded as a delta so in-flight reservations still commit correctly.
+         * On-hand never drops below what is reserved, so available stock cannot go
+         * negative.
+         *
+         * @return the on-hand stock actually set
+         */
+        int adjustOnHand(int onHand) {
+            long current;
+            int target;
+            int delta;
+            do {
+                current = state.get();
+                target = Math.max(onHand, reserved(current));
+                delta = target - available(current) - reserved(current);
+            } while (!state.compareAndSet(current, pack(available(current) + delta, reserved(current))));
+            pending.addAndGet(delta);
+            return target;
+        }
+
+        int drainPending() {
+            return (int) pending.getAndSet(0);
+        }
+
+        void addPending(int delta) {
+            pending.addAndGet(delta);
+        }
+
+        private static long pack(int available, int reserved) {
+            return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+        }
+
+        private static int available(long state) {
+            return (int) (state >> 32);
+        }
+
+        private static int reserved(long state) {
+            return (int) state;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.Order;
+import com.example.ECommerceTask.domain.Entity.OrderItem;
+import com.example.ECommerceTask.dto.order.OrderItemResponse;
+import com.example.ECommerceTask.dto.order.OrderResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps order entities to {@link OrderResponse}s. Touches only the order, its
+ * items and their products, so it needs no collaborators and can be measured on
+ * its own.
+ */
+public final class OrderResponseMapper {
+
+    private OrderResponseMapper() {
+    }
+
+    public static OrderResponse toResponse(Order order) {
+        return toResponse(order, order.getUser().getUsername());
+    }
+
+    /**
+     * Maps an order whose owner's username is already known, leaving a lazy
+     * {@code user} reference uninitialized.
+     */
+    public static OrderResponse toResponse(Order order, String username) {
+        OrderResponse response = new OrderResponse();
+        response.setId(order.getId());
+        response.setUserId(order.getUser().getId());
+        response.setUsername(username);
+        response.setOrderTotal(order.getOrderTotal());
+        response.setAppliedDiscounts(order.getAppliedDiscounts() == null
+                ? List.of() : List.of(order.getAppliedDiscounts().split(",")));
+        response.setCreatedAt(order.getCreatedAt());
+
+        List<OrderItemResponse> itemResponses = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            itemResponses.add(toItemResponse(item));
+        }
+        response.setItems(itemResponses);
+
+        return response;
+    }
+
+    private static OrderItemResponse toItemResponse(OrderItem item) {
+        OrderItemResponse response = new OrderItemResponse();
+        response.setId(item.getId());
+        response.setProductId(item.getProduct().getId());
+        response.setProductName(item.getProduct().getName());
+        response.setQuantity(item.getQuantity());
+        response.setUnitPrice(item.getUnitPrice());
+        response.setDiscountApplied(item.getDiscountApplied());
+        response.setTotalPrice(item.getTotalPrice());
+        return response;
+    }
+}
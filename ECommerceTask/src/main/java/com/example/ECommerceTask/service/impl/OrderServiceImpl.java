@@ -4,174 +4,549 @@ import com.example.ECommerceTask.domain.Entity.Order;
 import com.example.ECommerceTask.domain.Entity.OrderItem;
 import com.example.ECommerceTask.domain.Entity.Product;
 import com.example.ECommerceTask.domain.Entity.User;
+import com.example.ECommerceTask.domain.Enums.ExportFormat;
 import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.domain.Money;
+import com.example.ECommerceTask.dto.order.AppliedDiscountResponse;
+import com.example.ECommerceTask.dto.order.BatchOrderResponse;
+import com.example.ECommerceTask.dto.order.BatchOrderResult;
 import com.example.ECommerceTask.dto.order.OrderItemRequest;
 import com.example.ECommerceTask.dto.order.OrderItemResponse;
+import com.example.ECommerceTask.dto.order.OrderPage;
+import com.example.ECommerceTask.dto.order.OrderQuoteResponse;
 import com.example.ECommerceTask.dto.order.OrderRequest;
 import com.example.ECommerceTask.dto.order.OrderResponse;
 import com.example.ECommerceTask.exception.ResourceNotFoundException;
 import com.example.ECommerceTask.repository.OrderRepository;
 import com.example.ECommerceTask.repository.ProductRepository;
 import com.example.ECommerceTask.repository.UserRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.example.ECommerceTask.service.CatalogVersion;
 import com.example.ECommerceTask.service.DiscountCalculatorService;
+import com.example.ECommerceTask.service.DiscountDecisionTable.AppliedDiscount;
+import com.example.ECommerceTask.service.InventoryService;
+import com.example.ECommerceTask.service.OrderPricer;
+import com.example.ECommerceTask.service.OrderPricer.OrderPricing;
+import com.example.ECommerceTask.service.OrderQuoteCache;
 import com.example.ECommerceTask.service.OrderService;
-import com.example.ECommerceTask.service.ProductService;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final LocalDateTime EXPORT_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String CSV_HEADER = "order_id,created_at,user_id,username,order_total," +
+            "product_id,product_name,quantity,unit_price,discount_applied,total_price\n";
+
+    // Per-stage timings of order creation; pricing and reservation are also recorded for batch orders
+    private static final String STAGE_TIMER = "order.create.stage";
+
+    private final Timer userLookupTimer = Metrics.timer(STAGE_TIMER, "stage", "user_lookup");
+    private final Timer productLoadTimer = Metrics.timer(STAGE_TIMER, "stage", "product_load");
+    private final Timer discountCalculationTimer = Metrics.timer(STAGE_TIMER, "stage", "discount_calculation");
+    // Stock validation and decrement are one atomic step in the inventory ledger
+    private final Timer stockReservationTimer = Metrics.timer(STAGE_TIMER, "stage", "stock_reservation");
+    private final Timer persistenceTimer = Metrics.timer(STAGE_TIMER, "stage", "persistence");
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final ProductService productService;
+    private final OrderPricer orderPricer;
+    private final InventoryService inventoryService;
+    private final OrderQuoteCache orderQuoteCache;
+    private final CatalogVersion catalogVersion;
     private final DiscountCalculatorService discountCalculatorService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${orders.export.chunk-size:100}")
+    private int exportChunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public OrderServiceImpl(
             OrderRepository orderRepository,
             UserRepository userRepository,
             ProductRepository productRepository,
-            ProductService productService,
-            DiscountCalculatorService discountCalculatorService) {
+            OrderPricer orderPricer,
+            InventoryService inventoryService,
+            OrderQuoteCache orderQuoteCache,
+            CatalogVersion catalogVersion,
+            DiscountCalculatorService discountCalculatorService,
+            ObjectMapper objectMapper) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
-        this.productService = productService;
+        this.orderPricer = orderPricer;
+        this.inventoryService = inventoryService;
+        this.orderQuoteCache = orderQuoteCache;
+        this.catalogVersion = catalogVersion;
         this.discountCalculatorService = discountCalculatorService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional
+    public OrderResponse create(OrderRequest request, AuthenticatedUser user) {
+        // The principal already carries id and role; the user row is never loaded
+        User customer = timed(userLookupTimer, () -> userRepository.getReferenceById(user.getId()));
+
+        // Load every requested product in one query
+        Map<Long, Product> products = timed(productLoadTimer, () -> loadProducts(request.getItems()));
+
+        Order built = buildOrder(request, customer, user.getRole(), products);
+
+        // Order and items are inserted together through the cascade; flushed here so
+        // the persistence timing covers the inserts rather than leaving them to commit
+        Order order = timed(persistenceTimer, () -> {
+            Order saved = orderRepository.save(built);
+            flushOrders();
+            verifyVersions(products);
+            return saved;
+        });
+
+        return OrderResponseMapper.toResponse(order, user.getUsername());
     }
 
     @Override
     @Transactional
-    public OrderResponse create(OrderRequest request, String username) {
-        // Get user
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public BatchOrderResponse createBatch(List<OrderRequest> requests, AuthenticatedUser user) {
+        User customer = userRepository.getReferenceById(user.getId());
+
+        // One product query for every line of every order in the batch
+        List<OrderItemRequest> allItems = new ArrayList<>();
+        for (OrderRequest request : requests) {
+            allItems.addAll(request.getItems());
+        }
+        Map<Long, Product> products = loadProducts(allItems);
+
+        List<Order> orders = new ArrayList<>();
+        List<BatchOrderResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                orders.add(buildOrder(requests.get(i), customer, user.getRole(), products));
+                results.add(null);
+            } catch (ResourceNotFoundException | IllegalArgumentException e) {
+                results.add(BatchOrderResult.rejected(i, e.getMessage()));
+            }
+        }
+
+        // Sequence-generated ids let Hibernate send the inserts as JDBC batches
+        orderRepository.saveAll(orders);
+        flushOrders();
+        verifyVersions(products);
+
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                OrderResponse response = OrderResponseMapper.toResponse(orders.get(created++), user.getUsername());
+                results.set(i, BatchOrderResult.created(i, response));
+            }
+        }
+        return new BatchOrderResponse(created, requests.size() - created, results);
+    }
 
-        // Validate stock and calculate subtotal
-        BigDecimal subtotal = BigDecimal.ZERO;
-        List<OrderItem> orderItems = new java.util.ArrayList<>();
+    /**
+     * Sends the pending order inserts. The customer is only a reference, so a user
+     * deleted while their token is still valid shows up here as a foreign key
+     * violation; products are soft-deleted, which leaves orders.user_id as the only
+     * key that can be missing.
+     */
+    private void flushOrders() {
+        try {
+            entityManager.flush();
+        } catch (ConstraintViolationException e) {
+            if (e.getKind() == ConstraintViolationException.ConstraintKind.FOREIGN_KEY) {
+                throw new ResourceNotFoundException("User not found");
+            }
+            throw e;
+        }
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public OrderQuoteResponse quote(OrderRequest request, AuthenticatedUser user) {
+        // Merge repeated products; the merged cart in product order is the cache key
+        Map<Long, Integer> quantities = new TreeMap<>();
         for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + itemRequest.getProductId()));
+            quantities.merge(itemRequest.getProductId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        StringBuilder cart = new StringBuilder();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            cart.append(entry.getKey()).append(':').append(entry.getValue()).append(';');
+        }
+
+        // Versions and the rule window are read before the products are priced, so a
+        // concurrent change can at worst leave a newer quote under a key that is no
+        // longer used
+        OrderQuoteCache.Key key = new OrderQuoteCache.Key(cart.toString(), user.getRole(),
+                catalogVersion.currentPrices(), discountCalculatorService.rulesVersion(),
+                discountCalculatorService.rulesWindowStart());
+        return orderQuoteCache.get(key, k -> priceQuote(quantities, k.role()));
+    }
+
+    /**
+     * Prices a merged cart without reserving stock or writing anything.
+     */
+    private OrderQuoteResponse priceQuote(Map<Long, Integer> quantities, Role role) {
+        List<Product> products = productRepository.findAllByIdInOrderById(quantities.keySet());
+        long[] unitPriceCents = new long[quantities.size()];
+        int[] lineQuantities = new int[quantities.size()];
+
+        // Both are in product id order, so a missing product shows up as a mismatch
+        int line = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (line >= products.size() || !products.get(line).getId().equals(entry.getKey())) {
+                throw new ResourceNotFoundException("Product not found with id: " + entry.getKey());
+            }
+            unitPriceCents[line] = Money.toCents(products.get(line).getPrice());
+            lineQuantities[line] = entry.getValue();
+            line++;
+        }
+
+        OrderPricing pricing = orderPricer.price(unitPriceCents, lineQuantities, role);
+
+        List<OrderItemResponse> items = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            OrderItemResponse item = new OrderItemResponse();
+            item.setProductId(products.get(i).getId());
+            item.setProductName(products.get(i).getName());
+            item.setQuantity(lineQuantities[i]);
+            item.setUnitPrice(Money.toBigDecimal(unitPriceCents[i]));
+            item.setDiscountApplied(Money.toBigDecimal(pricing.lineDiscountCents()[i]));
+            item.setTotalPrice(Money.toBigDecimal(pricing.lineTotalCents(i)));
+            items.add(item);
+        }
+
+        List<AppliedDiscountResponse> discounts = new ArrayList<>(pricing.appliedDiscounts().size());
+        for (AppliedDiscount applied : pricing.appliedDiscounts()) {
+            AppliedDiscountResponse discount = new AppliedDiscountResponse();
+            discount.setRule(applied.rule());
+            discount.setAmount(Money.toBigDecimal(applied.cents()));
+            discounts.add(discount);
+        }
 
-            // Validate stock
-            if (product.getQuantity() < itemRequest.getQuantity()) {
-                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName() +
-                        ". Available: " + product.getQuantity() + ", Requested: " + itemRequest.getQuantity());
+        OrderQuoteResponse response = new OrderQuoteResponse();
+        response.setItems(items);
+        response.setSubtotal(Money.toBigDecimal(pricing.subtotalCents()));
+        response.setDiscounts(discounts);
+        response.setTotalDiscount(Money.toBigDecimal(pricing.discountCents()));
+        response.setOrderTotal(Money.toBigDecimal(pricing.totalCents()));
+        return response;
+    }
+
+    /**
+     * Prices the order, reserves its stock and builds the unsaved order with its items.
+     * Reservations are released if the surrounding transaction rolls back.
+     */
+    private Order buildOrder(OrderRequest request, User user, Role role, Map<Long, Product> products) {
+        // Sum the quantity requested per product and collect line prices in cents
+        List<OrderItemRequest> items = request.getItems();
+        Map<Long, Integer> requestedQuantities = new TreeMap<>();
+        Product[] lineProducts = new Product[items.size()];
+        long[] unitPriceCents = new long[items.size()];
+        int[] quantities = new int[items.size()];
+
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemRequest itemRequest = items.get(i);
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + itemRequest.getProductId());
             }
+            requestedQuantities.merge(product.getId(), itemRequest.getQuantity(), Integer::sum);
 
-            BigDecimal unitPrice = product.getPrice();
-            BigDecimal itemSubtotal = unitPrice.multiply(new BigDecimal(itemRequest.getQuantity()));
-            subtotal = subtotal.add(itemSubtotal);
+            lineProducts[i] = product;
+            unitPriceCents[i] = Money.toCents(product.getPrice());
+            quantities[i] = itemRequest.getQuantity();
         }
 
-        // Calculate discounts
-        BigDecimal totalDiscount = discountCalculatorService.calculateTotalDiscount(subtotal, user.getRole());
-        BigDecimal orderTotal = subtotal.subtract(totalDiscount);
+        // Subtotal, discounts and per-line split, all in cents
+        OrderPricing pricing = timed(discountCalculationTimer,
+                () -> orderPricer.price(unitPriceCents, quantities, role));
 
-        // Create order
-        Order order = new Order(user, orderTotal);
-        order = orderRepository.save(order);
+        // Reserve inventory for all products of the order, or none of them
+        Long shortProductId = timed(stockReservationTimer, () -> inventoryService.reserveAll(requestedQuantities));
+        if (shortProductId != null) {
+            // MetricsConfig caps how many products get their own series
+            Metrics.counter("order.stock.rejections", "product", String.valueOf(shortProductId)).increment();
+            throw new IllegalArgumentException("Insufficient stock for product: " + products.get(shortProductId).getName() +
+                    ". Available: " + inventoryService.getAvailable(shortProductId) +
+                    ", Requested: " + requestedQuantities.get(shortProductId));
+        }
 
-        // Create order items and decrease inventory
-        for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-            BigDecimal unitPrice = product.getPrice();
-            BigDecimal itemSubtotal = unitPrice.multiply(new BigDecimal(itemRequest.getQuantity()));
-            
-            // Calculate discount per item (proportional to item's share of subtotal)
-            BigDecimal itemDiscount = BigDecimal.ZERO;
-            if (totalDiscount.compareTo(BigDecimal.ZERO) > 0 && subtotal.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal itemProportion = itemSubtotal.divide(subtotal, 4, RoundingMode.HALF_UP);
-                itemDiscount = totalDiscount.multiply(itemProportion);
+        Order order = new Order(user, Money.toBigDecimal(pricing.totalCents()));
+        if (!pricing.appliedDiscounts().isEmpty()) {
+            StringJoiner ruleNames = new StringJoiner(",");
+            for (AppliedDiscount applied : pricing.appliedDiscounts()) {
+                ruleNames.add(applied.rule());
             }
-            
-            BigDecimal itemTotal = itemSubtotal.subtract(itemDiscount);
+            order.setAppliedDiscounts(ruleNames.toString());
+        }
+
+        // Create order items; amounts become BigDecimal only for the entity
+        for (int i = 0; i < lineProducts.length; i++) {
+            order.getItems().add(new OrderItem(order, lineProducts[i], quantities[i],
+                    Money.toBigDecimal(unitPriceCents[i]),
+                    Money.toBigDecimal(pricing.lineDiscountCents()[i]),
+                    Money.toBigDecimal(pricing.lineTotalCents(i))));
+        }
+        return order;
+    }
 
-            OrderItem orderItem = new OrderItem(order, product, itemRequest.getQuantity(),
-                    unitPrice, itemDiscount, itemTotal);
-            orderItems.add(orderItem);
+    private static <T> T timed(Timer timer, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-            // Decrease inventory
-            productService.decreaseInventory(product.getId(), itemRequest.getQuantity());
+    /**
+     * Loads every referenced product in one query. Missing products are simply
+     * absent from the returned map.
+     */
+    private Map<Long, Product> loadProducts(List<OrderItemRequest> items) {
+        Set<Long> productIds = new TreeSet<>();
+        for (OrderItemRequest item : items) {
+            productIds.add(item.getProductId());
         }
 
-        order.setItems(orderItems);
-        order = orderRepository.save(order);
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllByIdInOrderById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
 
-        return mapToResponse(order);
+    /**
+     * Fails with an optimistic-locking conflict when any product was changed (e.g.
+     * re-priced) after it was loaded for this order, so the caller can retry with
+     * fresh data. One query covers every product.
+     */
+    private void verifyVersions(Map<Long, Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> current = new HashMap<>();
+        for (Object[] row : productRepository.findVersions(products.keySet())) {
+            current.put((Long) row[0], (Long) row[1]);
+        }
+        for (Product product : products.values()) {
+            // A missing row means the product was deleted meanwhile
+            if (!product.getVersion().equals(current.get(product.getId()))) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, product.getId());
+            }
+        }
     }
 
     @Override
-    public OrderResponse getById(Long id, String username) {
+    public OrderResponse getById(Long id, AuthenticatedUser user) {
         Order order = orderRepository.findByIdWithItems(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
         // Check if user owns the order or is admin
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (!order.getUser().getId().equals(user.getId()) && user.getRole() != Role.ADMIN) {
+        boolean owner = order.getUser().getId().equals(user.getId());
+        if (!owner && user.getRole() != Role.ADMIN) {
             throw new IllegalArgumentException("You don't have permission to view this order");
         }
 
-        return mapToResponse(order);
+        // Only an admin viewing someone else's order needs the owner loaded
+        return owner
+                ? OrderResponseMapper.toResponse(order, user.getUsername())
+                : OrderResponseMapper.toResponse(order);
     }
 
     @Override
-    public List<OrderResponse> getOrdersByUser(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public String getETag(Long id, AuthenticatedUser user) {
+        List<Object[]> rows = orderRepository.findOwnerAndTotal(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Order not found");
+        }
+        Long ownerId = (Long) rows.get(0)[0];
+        BigDecimal orderTotal = (BigDecimal) rows.get(0)[1];
+
+        // Same ownership rule as getById, so a 304 never reveals someone else's order
+        if (!ownerId.equals(user.getId()) && user.getRole() != Role.ADMIN) {
+            throw new IllegalArgumentException("You don't have permission to view this order");
+        }
+
+        return "o" + id + "-" + orderTotal.toPlainString();
+    }
 
+    @Override
+    public List<OrderResponse> getOrdersByUser(AuthenticatedUser user) {
         return orderRepository.findByUserIdWithItems(user.getId())
                 .stream()
-                .map(this::mapToResponse)
+                .map(order -> OrderResponseMapper.toResponse(order, user.getUsername()))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
+    @Transactional(readOnly = true)
+    public OrderPage getAllOrders(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        // Fetch one extra row to learn whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstPage(limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            Order last = orders.get(pageSize - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<OrderResponse> items = orders.stream()
+                .map(OrderResponseMapper::toResponse)
                 .collect(Collectors.toList());
+        return new OrderPage(items, nextCursor);
     }
 
-    private OrderResponse mapToResponse(Order order) {
-        OrderResponse response = new OrderResponse();
-        response.setId(order.getId());
-        response.setUserId(order.getUser().getId());
-        response.setUsername(order.getUser().getUsername());
-        response.setOrderTotal(order.getOrderTotal());
-        response.setCreatedAt(order.getCreatedAt());
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(LocalDateTime since, ExportFormat format, OutputStream output) throws IOException {
+        OutputStream out = new BufferedOutputStream(output, 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
 
-        List<OrderItemResponse> itemResponses = order.getItems().stream()
-                .map(this::mapItemToResponse)
-                .collect(Collectors.toList());
-        response.setItems(itemResponses);
+        List<Order> chunk = new ArrayList<>(exportChunkSize);
+        try (Stream<Order> orders = orderRepository.streamCreatedSince(since != null ? since : EXPORT_START)) {
+            orders.forEach(order -> {
+                chunk.add(order);
+                if (chunk.size() == exportChunkSize) {
+                    writeExportChunk(chunk, format, out);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeExportChunk(chunk, format, out);
+        out.flush();
+    }
 
-        return response;
+    /**
+     * Writes a chunk of streamed orders, then detaches them so the persistence
+     * context does not grow with the export. Items and products of the whole
+     * chunk are loaded by batch fetching on first access.
+     */
+    private void writeExportChunk(List<Order> chunk, ExportFormat format, OutputStream out) {
+        try {
+            for (Order order : chunk) {
+                OrderResponse response = OrderResponseMapper.toResponse(order);
+                if (format == ExportFormat.CSV) {
+                    out.write(toCsvRows(response).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(objectMapper.writeValueAsBytes(response));
+                    out.write('\n');
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.clear();
+        entityManager.clear();
     }
 
-    private OrderItemResponse mapItemToResponse(OrderItem item) {
-        OrderItemResponse response = new OrderItemResponse();
-        response.setId(item.getId());
-        response.setProductId(item.getProduct().getId());
-        response.setProductName(item.getProduct().getName());
-        response.setQuantity(item.getQuantity());
-        response.setUnitPrice(item.getUnitPrice());
-        response.setDiscountApplied(item.getDiscountApplied());
-        response.setTotalPrice(item.getTotalPrice());
-        return response;
+    private static String toCsvRows(OrderResponse order) {
+        StringBuilder rows = new StringBuilder();
+        for (OrderItemResponse item : order.getItems()) {
+            rows.append(order.getId()).append(',')
+                    .append(order.getCreatedAt()).append(',')
+                    .append(order.getUserId()).append(',')
+                    .append(csvField(order.getUsername())).append(',')
+                    .append(order.getOrderTotal()).append(',')
+                    .append(item.getProductId()).append(',')
+                    .append(csvField(item.getProductName())).append(',')
+                    .append(item.getQuantity()).append(',')
+                    .append(item.getUnitPrice()).append(',')
+                    .append(item.getDiscountApplied()).append(',')
+                    .append(item.getTotalPrice()).append('\n');
+        }
+        return rows.toString();
     }
-}
 
+    /**
+     * Quotes a value per RFC 4180 when it holds a separator, quote or line break.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Keyset position of the last order on a page, opaque to clients.
+     */
+    private record OrderCursor(LocalDateTime createdAt, Long id) {
+
+        private String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static OrderCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new OrderCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.valueOf(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -1,24 +1,63 @@
 package com.example.ECommerceTask.service.impl;
 
 import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.dto.product.ProductCacheStats;
 import com.example.ECommerceTask.dto.product.ProductRequest;
 import com.example.ECommerceTask.dto.product.ProductResponse;
 import com.example.ECommerceTask.exception.ResourceNotFoundException;
 import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.repository.ProductSpecifications;
+import com.example.ECommerceTask.service.CatalogSnapshot;
+import com.example.ECommerceTask.service.CatalogVersion;
+import com.example.ECommerceTask.service.InventoryService;
+import com.example.ECommerceTask.service.ProductCache;
+import com.example.ECommerceTask.service.ProductNameIndex;
 import com.example.ECommerceTask.service.ProductService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    // Above this many name matches an IN list costs more than matching name_lower in SQL
+    private static final int MAX_NAME_INDEX_CANDIDATES = 1000;
+
     private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final ProductNameIndex productNameIndex;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ProductCache productCache;
+    private final CatalogVersion catalogVersion;
 
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(
+            ProductRepository productRepository,
+            InventoryService inventoryService,
+            ProductNameIndex productNameIndex,
+            CatalogSnapshot catalogSnapshot,
+            ProductCache productCache,
+            CatalogVersion catalogVersion) {
         this.productRepository = productRepository;
+        this.inventoryService = inventoryService;
+        this.productNameIndex = productNameIndex;
+        this.catalogSnapshot = catalogSnapshot;
+        this.productCache = productCache;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
@@ -29,10 +68,16 @@ public class ProductServiceImpl implements ProductService {
                 request.getPrice(),
                 request.getQuantity()
         );
-        return mapToResponse(productRepository.save(product));
+        product = productRepository.save(product);
+        inventoryService.register(product.getId(), product.getQuantity());
+        productNameIndex.index(product.getId(), product.getName());
+        catalogSnapshot.upsert(product.getId(), product.getPrice(), inventoryService.getAvailable(product.getId()));
+        catalogVersion.incrementPrices();
+        return mapToResponse(product);
     }
 
     @Override
+    @Transactional
     public ProductResponse update(Long id, ProductRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
@@ -40,9 +85,23 @@ public class ProductServiceImpl implements ProductService {
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
-        product.setQuantity(request.getQuantity());
+        product = productRepository.save(product);
+
+        // Stock goes through the inventory ledger rather than the entity, applied on commit
+        inventoryService.setQuantity(product.getId(), request.getQuantity());
+        // Registered after the ledger's own callback, so the snapshot picks up the new quantity;
+        // a rolled back update leaves the name index, snapshot and search ETags alone
+        Long productId = product.getId();
+        String name = product.getName();
+        BigDecimal price = product.getPrice();
+        afterCommit(() -> {
+            productNameIndex.index(productId, name);
+            catalogSnapshot.upsert(productId, price, inventoryService.getAvailable(productId));
+            catalogVersion.incrementPrices();
+        });
+        productCache.invalidateAfterCommit(product.getId());
 
-        return mapToResponse(productRepository.save(product));
+        return mapToResponse(product);
     }
 
     @Override
@@ -50,13 +109,44 @@ public class ProductServiceImpl implements ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
         productRepository.delete(product); // soft delete
+        inventoryService.remove(id);
+        productNameIndex.remove(id);
+        catalogSnapshot.remove(id);
+        productCache.invalidateAfterCommit(id);
+        catalogVersion.incrementPrices();
     }
 
     @Override
     public ProductResponse getById(Long id) {
-        return productRepository.findById(id)
+        ProductResponse cached = productCache.get(id, key -> productRepository.findById(key)
                 .map(this::mapToResponse)
+                .orElse(null));
+        if (cached == null) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+
+        // Cached entries are shared, so hand out a copy carrying the ledger's current stock
+        ProductResponse response = copyOf(cached);
+        response.setQuantity(inventoryService.getAvailable(id));
+        return response;
+    }
+
+    @Override
+    public String getETag(Long id) {
+        // Served from the second-level cache; no response is built
+        Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        return "p" + id + "-" + product.getVersion() + "-" + inventoryService.getAvailable(id);
+    }
+
+    @Override
+    public String getSearchETag(String query) {
+        return "c" + catalogVersion.current() + "-" + Integer.toHexString(query.hashCode());
+    }
+
+    @Override
+    public ProductCacheStats getCacheStats() {
+        return productCache.stats();
     }
 
     @Override
@@ -68,33 +158,97 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public List<ProductResponse> search(
+    public Page<ProductResponse> search(
             String name,
             BigDecimal minPrice,
             BigDecimal maxPrice,
-            Boolean available) {
-
-        return productRepository.findAll().stream()
-                .filter(p -> name == null || p.getName().toLowerCase().contains(name.toLowerCase()))
-                .filter(p -> minPrice == null || p.getPrice().compareTo(minPrice) >= 0)
-                .filter(p -> maxPrice == null || p.getPrice().compareTo(maxPrice) <= 0)
-                .filter(p -> available == null ||
-                        (available ? p.getQuantity() > 0 : p.getQuantity() == 0))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+            Boolean available,
+            Pageable pageable) {
+
+        long[] nameMatches = name == null ? null : productNameIndex.search(name);
+        if (nameMatches != null && nameMatches.length == 0) {
+            return Page.empty(pageable);
+        }
+
+        Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+        boolean nameResolved = name == null || nameMatches != null;
+        if (nameResolved && idOrder != null && pageable.getSort().stream().count() == 1) {
+            // Ordered by id only: filter the columnar snapshot and load just the requested page
+            long minCents = minPrice == null ? Long.MIN_VALUE
+                    : minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+            long maxCents = maxPrice == null ? Long.MAX_VALUE
+                    : maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+            int availability = available == null ? CatalogSnapshot.ANY
+                    : available ? CatalogSnapshot.IN_STOCK : CatalogSnapshot.OUT_OF_STOCK;
+            long[] ids = nameMatches == null
+                    ? catalogSnapshot.filter(minCents, maxCents, availability)
+                    : catalogSnapshot.filter(nameMatches, minCents, maxCents, availability);
+            return loadPage(ids, pageable, idOrder.isDescending());
+        }
+
+        Specification<Product> specification;
+        if (nameMatches != null && nameMatches.length <= MAX_NAME_INDEX_CANDIDATES) {
+            // The name index already resolved the substring match; the database only filters and pages
+            specification = ProductSpecifications.search(null, minPrice, maxPrice, available)
+                    .and(ProductSpecifications.idIn(Arrays.stream(nameMatches).boxed().toList()));
+        } else {
+            // Short or very unselective names are matched in the database
+            specification = ProductSpecifications.search(name, minPrice, maxPrice, available);
+        }
+
+        return productRepository.findAll(specification, pageable)
+                .map(this::mapToResponse);
+    }
+
+    private Page<ProductResponse> loadPage(long[] ids, Pageable pageable, boolean descending) {
+        int total = ids.length;
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        int from = (int) pageable.getOffset();
+        int to = Math.min(total, from + pageable.getPageSize());
+
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(descending ? ids[total - 1 - i] : ids[i]);
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(pageIds)) {
+            products.put(product.getId(), product);
+        }
+
+        List<ProductResponse> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Product product = products.get(id);
+            if (product != null) {
+                content.add(mapToResponse(product));
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
     }
 
     @Override
+    @Transactional
     public void decreaseInventory(Long productId, Integer quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-        
-        if (product.getQuantity() < quantity) {
-            throw new IllegalArgumentException("Insufficient stock. Available: " + product.getQuantity() + ", Requested: " + quantity);
+        if (!inventoryService.reserve(productId, quantity)) {
+            throw new IllegalArgumentException("Insufficient stock. Available: " +
+                    inventoryService.getAvailable(productId) + ", Requested: " + quantity);
+        }
+        productCache.invalidateAfterCommit(productId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
-        
-        product.setQuantity(product.getQuantity() - quantity);
-        productRepository.save(product);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private ProductResponse mapToResponse(Product product) {
@@ -103,9 +257,21 @@ public class ProductServiceImpl implements ProductService {
         response.setName(product.getName());
         response.setDescription(product.getDescription());
         response.setPrice(product.getPrice());
-        response.setQuantity(product.getQuantity());
+        response.setQuantity(inventoryService.getAvailable(product.getId()));
         response.setCreatedAt(product.getCreatedAt());
         response.setUpdatedAt(product.getUpdatedAt());
         return response;
     }
+
+    private static ProductResponse copyOf(ProductResponse source) {
+        ProductResponse response = new ProductResponse();
+        response.setId(source.getId());
+        response.setName(source.getName());
+        response.setDescription(source.getDescription());
+        response.setPrice(source.getPrice());
+        response.setQuantity(source.getQuantity());
+        response.setCreatedAt(source.getCreatedAt());
+        response.setUpdatedAt(source.getUpdatedAt());
+        return response;
+    }
 }
@@ -5,8 +5,9 @@ import com.example.ECommerceTask.dto.user.UserRequest;
 import com.example.ECommerceTask.dto.user.UserResponse;
 import com.example.ECommerceTask.exception.ResourceNotFoundException;
 import com.example.ECommerceTask.repository.UserRepository;
+import com.example.ECommerceTask.service.PasswordHashingService;
+import com.example.ECommerceTask.service.TokenRevocationService;
 import com.example.ECommerceTask.service.UserService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,11 +17,16 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(
+            UserRepository userRepository,
+            PasswordHashingService passwordHashingService,
+            TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -31,7 +37,7 @@ public class UserServiceImpl implements UserService {
 
         User user = new User(
                 request.getUsername(),
-                passwordEncoder.encode(request.getPassword()),
+                passwordHashingService.encode(request.getPassword()),
                 request.getRole()
         );
         return mapToResponse(userRepository.save(user));
@@ -48,13 +54,24 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Username already exists");
         }
 
+        // Tokens carry the username and role and are trusted without a lookup, so
+        // they are revoked whenever those or the password change
+        boolean passwordChanged = request.getPassword() != null && !request.getPassword().isEmpty();
+        boolean revoke = passwordChanged
+                || !user.getUsername().equals(request.getUsername())
+                || user.getRole() != request.getRole();
+
         user.setUsername(request.getUsername());
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
+        if (passwordChanged) {
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
         }
         user.setRole(request.getRole());
 
-        return mapToResponse(userRepository.save(user));
+        UserResponse response = mapToResponse(userRepository.save(user));
+        if (revoke) {
+            tokenRevocationService.revokeAllForUser(id);
+        }
+        return response;
     }
 
     @Override
@@ -62,6 +79,15 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         userRepository.delete(user);
+        tokenRevocationService.revokeAllForUser(id);
+    }
+
+    @Override
+    public void revokeTokens(Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        tokenRevocationService.revokeAllForUser(id);
     }
 
     @Override
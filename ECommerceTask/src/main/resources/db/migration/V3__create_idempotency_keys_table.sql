@@ -0,0 +1,13 @@
+CREATE TABLE idempotency_keys (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    idempotency_key VARCHAR(100) NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    order_id BIGINT NOT NULL,
+    -- SHA-256 of the request the key was first used with
+    request_hash VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP,
+    CONSTRAINT uk_idempotency_keys_username_key UNIQUE (username, idempotency_key),
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
@@ -0,0 +1,6 @@
+-- Pooled id generation for orders and order_items so inserts can be JDBC-batched.
+-- INCREMENT BY must match allocationSize on the entities. Hibernate hands out
+-- (value - 49 .. value), so each sequence starts 50 above the current max id.
+CREATE SEQUENCE orders_seq START WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM orders) INCREMENT BY 50;
+
+CREATE SEQUENCE order_items_seq START WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items) INCREMENT BY 50;
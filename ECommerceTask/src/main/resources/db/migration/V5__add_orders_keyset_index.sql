@@ -0,0 +1,2 @@
+-- Supports keyset pagination of GET /api/orders on (created_at, id)
+CREATE INDEX idx_orders_created_at_id ON orders(created_at, id);
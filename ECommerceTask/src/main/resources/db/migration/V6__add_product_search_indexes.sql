@@ -0,0 +1,8 @@
+-- Indexes for catalog search. Soft-deleted rows are filtered on every query,
+-- so deleted leads the composite indexes.
+CREATE INDEX idx_products_deleted_price ON products(deleted, price);
+CREATE INDEX idx_products_deleted_quantity ON products(deleted, quantity);
+
+-- H2 has no expression indexes, so the lower-cased name lives in a generated column
+ALTER TABLE products ADD COLUMN name_lower VARCHAR(150) GENERATED ALWAYS AS (LOWER(name));
+CREATE INDEX idx_products_name_lower ON products(name_lower);
@@ -0,0 +1,2 @@
+-- Optimistic locking for product writes
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Revoked JWTs by jti, plus one "uid:<id>" row per user whose earlier tokens were all revoked.
+-- No foreign key to users: deleting a user revokes their tokens, and the cutoff row must outlive them
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
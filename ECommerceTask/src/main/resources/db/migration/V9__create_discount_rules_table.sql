@@ -0,0 +1,25 @@
+-- Discount rules, evaluated per order in ascending priority; matching rules stack
+-- unless one of them stops processing
+CREATE TABLE discount_rules (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    role VARCHAR(30),                          -- NULL: any role
+    subtotal_above DECIMAL(10,2),              -- applies only when the subtotal is greater; NULL: always
+    percentage DECIMAL(5,2) NOT NULL,          -- of the order subtotal
+    max_discount DECIMAL(10,2),                -- cap on this rule's discount; NULL: uncapped
+    priority INT NOT NULL,
+    stop_processing BOOLEAN NOT NULL DEFAULT FALSE,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    starts_at TIMESTAMP,                       -- NULL: no lower bound
+    ends_at TIMESTAMP,                         -- NULL: no upper bound
+    updated_at TIMESTAMP
+);
+
+-- The two rules that were previously hard-coded
+INSERT INTO discount_rules (name, role, subtotal_above, percentage, priority) VALUES
+    ('PREMIUM_USER_10_PERCENT', 'PREMIUM_USER', NULL, 10.00, 10),
+    ('HIGH_ORDER_5_PERCENT', NULL, 500.00, 5.00, 20);
+
+-- Names of the rules applied to each order, comma-separated, as they were at order time.
+-- Any number of matching rules can stack, so the list gets no fixed width
+ALTER TABLE orders ADD COLUMN applied_discounts CLOB;
@@ -0,0 +1,146 @@
+package com.example.ECommerceTask.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a stored baseline and exits non-zero
+ * when any benchmark got slower, or allocates more per operation, by more than
+ * the threshold.
+ * <p>
+ * Run by the benchmark profile after the benchmarks, as
+ * {@code BenchmarkComparator <baseline.json> <result.json> <threshold-percent> <record-baseline>}.
+ * A missing baseline fails the run unless {@code record-baseline} is
+ * {@code true}, in which case the results are compared but never fail, and are
+ * then merged into the baseline file (replacing entries for the benchmarks that
+ * ran, keeping the rest).
+ */
+public final class BenchmarkComparator {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 4) {
+            System.err.println("Usage: BenchmarkComparator <baseline.json> <result.json> <threshold-percent> <record-baseline>");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean recordBaseline = Boolean.parseBoolean(args[3]);
+
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        Map<String, JsonNode> results = index(jsonMapper.readTree(resultFile));
+        Map<String, JsonNode> baseline = baselineFile.isFile()
+                ? index(jsonMapper.readTree(baselineFile))
+                : new LinkedHashMap<>();
+
+        if (baseline.isEmpty() && !recordBaseline) {
+            System.err.println("No benchmark baseline at " + baselineFile
+                    + "; run with -Djmh.record-baseline=true to record one");
+            System.exit(1);
+        }
+
+        int regressions = compare(baseline, results, threshold);
+
+        if (recordBaseline) {
+            baseline.putAll(results);
+            File directory = baselineFile.getAbsoluteFile().getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                System.err.println("Could not create " + directory);
+                System.exit(1);
+            }
+            jsonMapper.writerWithDefaultPrettyPrinter().writeValue(baselineFile, baseline.values());
+            System.out.println("Recorded " + results.size() + " benchmark result(s) in " + baselineFile);
+            return;
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark regression(s) above " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints one line per result and its change against the baseline.
+     *
+     * @return number of regressions beyond the threshold
+     */
+    private static int compare(Map<String, JsonNode> baseline, Map<String, JsonNode> results, double threshold) {
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            JsonNode current = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asString());
+
+            // Primary score: time per operation, or operations per time
+            regressions += report(entry.getKey(), current.path("primaryMetric").path("scoreUnit").asString(),
+                    previous.path("primaryMetric"), current.path("primaryMetric"), higherIsBetter, threshold);
+
+            // Bytes allocated per operation, when the GC profiler ran on both
+            JsonNode previousAllocation = allocation(previous);
+            JsonNode currentAllocation = allocation(current);
+            if (previousAllocation != null && currentAllocation != null) {
+                regressions += report(entry.getKey() + " [alloc]", "B/op",
+                        previousAllocation, currentAllocation, false, threshold);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Results keyed by benchmark name plus its parameters.
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            Map<String, String> params = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> param : result.path("params").properties()) {
+                params.put(param.getKey(), param.getValue().asString());
+            }
+            String key = result.path("benchmark").asString() + (params.isEmpty() ? "" : " " + params);
+            indexed.put(key, result);
+        }
+        return indexed;
+    }
+
+    private static JsonNode allocation(JsonNode result) {
+        // Older JMH versions prefix secondary metric names with a middle dot
+        for (Map.Entry<String, JsonNode> metric : result.path("secondaryMetrics").properties()) {
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prints one comparison line.
+     *
+     * @return 1 if the change is a regression beyond the threshold, otherwise 0
+     */
+    private static int report(String name, String unit, JsonNode previous, JsonNode current,
+                              boolean higherIsBetter, double threshold) {
+        double before = previous.path("score").asDouble();
+        double after = current.path("score").asDouble();
+        double change = before == 0 ? (after == 0 ? 0 : 100) : (after - before) * 100 / before;
+        boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+
+        System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%s%n",
+                name, before, after, change, unit, regressed ? "  REGRESSION" : "");
+        return regressed ? 1 : 0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ECommerceTask.benchmark;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.domain.Money;
+import com.example.ECommerceTask.service.CatalogSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price-range and in-stock filter over the catalog: the columnar snapshot versus
+ * the previous {@code findAll().stream().filter(...)} over loaded entities.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.includes=CatalogSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSearchBenchmark {
+
+    private static final BigDecimal MIN_PRICE = new BigDecimal("25.00");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("75.00");
+
+    @Param({"10000", "100000", "1000000"})
+    private int products;
+
+    private List<Product> entities;
+    private CatalogSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        entities = new ArrayList<>(products);
+        long[] ids = new long[products];
+        long[] priceCents = new long[products];
+        int[] quantities = new int[products];
+
+        for (int i = 0; i < products; i++) {
+            long cents = random.nextLong(100, 10_000);
+            int quantity = random.nextInt(10) == 0 ? 0 : random.nextInt(1, 500);
+
+            Product product = new Product("Product " + i, null, BigDecimal.valueOf(cents, 2), quantity);
+            product.setId((long) i + 1);
+            entities.add(product);
+
+            ids[i] = i + 1;
+            priceCents[i] = cents;
+            quantities[i] = quantity;
+        }
+
+        // The snapshot is filled directly, so it never touches the repository
+        snapshot = new CatalogSnapshot(null);
+        snapshot.replaceAll(ids, priceCents, quantities);
+    }
+
+    @Benchmark
+    public List<Long> entityStream() {
+        return entities.stream()
+                .filter(p -> !p.getDeleted())
+                .filter(p -> p.getPrice().compareTo(MIN_PRICE) >= 0)
+                .filter(p -> p.getPrice().compareTo(MAX_PRICE) <= 0)
+                .filter(p -> p.getQuantity() > 0)
+                .map(Product::getId)
+                .toList();
+    }
+
+    @Benchmark
+    public long[] columnarSnapshot() {
+        return snapshot.filter(
+                Money.toCents(MIN_PRICE),
+                Money.toCents(MAX_PRICE),
+                CatalogSnapshot.IN_STOCK);
+    }
+}
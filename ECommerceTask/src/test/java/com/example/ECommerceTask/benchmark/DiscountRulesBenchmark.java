@@ -0,0 +1,75 @@
+package com.example.ECommerceTask.benchmark;
+
+import com.example.ECommerceTask.domain.Entity.DiscountRule;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.service.DiscountCalculatorService;
+import com.example.ECommerceTask.service.DiscountDecisionTable.Discount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code DiscountCalculatorService.calculateTotalDiscount} against compiled rule
+ * sets of growing size: an order that matches no rule and one that matches
+ * several.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.includes=DiscountRulesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiscountRulesBenchmark {
+
+    private static final Role[] ROLES = {null, Role.USER, Role.PREMIUM_USER};
+
+    @Param({"2", "20", "200"})
+    private int rules;
+
+    private DiscountCalculatorService discountCalculatorService;
+
+    @Setup
+    public void setUp() {
+        // Thresholds spread from $0 to $1000, roles rotating between any, USER and PREMIUM_USER
+        List<DiscountRule> ruleSet = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            DiscountRule rule = new DiscountRule();
+            rule.setId((long) i + 1);
+            rule.setName("RULE_" + i);
+            rule.setRole(ROLES[i % ROLES.length]);
+            rule.setSubtotalAbove(BigDecimal.valueOf(i * 100_000L / rules, 2));
+            rule.setPercentage(new BigDecimal("1.00"));
+            rule.setPriority(i);
+            ruleSet.add(rule);
+        }
+
+        // The rules are installed directly, so the service never touches the repository
+        discountCalculatorService = new DiscountCalculatorService(null, null);
+        discountCalculatorService.replaceRules(ruleSet);
+    }
+
+    @Benchmark
+    public Discount noRuleMatches() {
+        return discountCalculatorService.calculateTotalDiscount(0, Role.ADMIN);
+    }
+
+    @Benchmark
+    public Discount manyRulesMatch() {
+        return discountCalculatorService.calculateTotalDiscount(75_000, Role.PREMIUM_USER);
+    }
+}
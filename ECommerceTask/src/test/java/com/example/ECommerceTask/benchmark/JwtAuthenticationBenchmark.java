@@ -0,0 +1,96 @@
+package com.example.ECommerceTask.benchmark;
+
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.example.ECommerceTask.service.JwtTokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication work done by {@code JwtAuthenticationFilter}: the
+ * previous four parses with a fresh key and parser each, a single parse with
+ * the shared parser, and a hit in the verified-token cache. Token generation,
+ * as done on every login, is measured alongside.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.includes=JwtAuthenticationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "mySecretKeyThatIsAtLeast256BitsLongForHS256AlgorithmSecurityPleaseChangeInProduction";
+
+    private JwtTokenService jwtTokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenService = new JwtTokenService();
+        ReflectionTestUtils.setField(jwtTokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenService, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtTokenService, "cacheMaxSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(jwtTokenService, "init");
+        token = jwtTokenService.generateToken(1L, "benchmark-user", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenService.generateToken(1L, "benchmark-user", "USER");
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken legacyFourParses() {
+        // getUsernameFromToken, getRoleFromToken, then validateToken parses twice more
+        String username = legacyClaims(token).getSubject();
+        String role = legacyClaims(token).get("role", String.class);
+        boolean valid = legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+        if (!valid) {
+            throw new IllegalStateException("Token rejected");
+        }
+        return new UsernamePasswordAuthenticationToken(
+                username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken singleParse() {
+        AuthenticatedUser user = jwtTokenService.parse(token);
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken cachedToken() {
+        AuthenticatedUser user = jwtTokenService.authenticate(token);
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ECommerceTask.benchmark;
+
+import com.example.ECommerceTask.domain.Entity.DiscountRule;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.domain.Money;
+import com.example.ECommerceTask.service.DiscountCalculatorService;
+import com.example.ECommerceTask.service.OrderPricer;
+import com.example.ECommerceTask.service.OrderPricer.OrderPricing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing a whole order (subtotal, premium and high-order discounts, per-line
+ * split): the previous hard-coded {@link BigDecimal} arithmetic versus
+ * {@link OrderPricer} over long cents and the compiled discount rules, including
+ * the conversions at the entity boundary.
+ * <p>
+ * The benchmark profile adds {@code -prof gc}, so {@code gc.alloc.rate.norm}
+ * reports the bytes allocated per priced order.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.includes=OrderPricingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    private static final BigDecimal HIGH_ORDER_THRESHOLD = new BigDecimal("500.00");
+    private static final BigDecimal HIGH_ORDER_DISCOUNT_PERCENTAGE = new BigDecimal("0.05");
+    private static final BigDecimal PREMIUM_DISCOUNT_PERCENTAGE = new BigDecimal("0.10");
+
+    @Param({"1", "5", "20"})
+    private int lines;
+
+    private BigDecimal[] unitPrices;
+    private long[] unitPriceCents;
+    private int[] quantities;
+    private OrderPricer orderPricer;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        unitPrices = new BigDecimal[lines];
+        unitPriceCents = new long[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            unitPrices[i] = BigDecimal.valueOf(random.nextLong(100, 50_000), 2);
+            unitPriceCents[i] = Money.toCents(unitPrices[i]);
+            quantities[i] = random.nextInt(1, 10);
+        }
+
+        // The rules are installed directly, so the service never touches the repository
+        DiscountCalculatorService discountCalculatorService = new DiscountCalculatorService(null, null);
+        discountCalculatorService.replaceRules(List.of(
+                rule(1L, "PREMIUM_USER_10_PERCENT", Role.PREMIUM_USER, null, "10.00", 10),
+                rule(2L, "HIGH_ORDER_5_PERCENT", null, "500.00", "5.00", 20)));
+        orderPricer = new OrderPricer(discountCalculatorService);
+    }
+
+    private static DiscountRule rule(Long id, String name, Role role, String subtotalAbove, String percentage,
+                                     int priority) {
+        DiscountRule rule = new DiscountRule();
+        rule.setId(id);
+        rule.setName(name);
+        rule.setRole(role);
+        rule.setSubtotalAbove(subtotalAbove == null ? null : new BigDecimal(subtotalAbove));
+        rule.setPercentage(new BigDecimal(percentage));
+        rule.setPriority(priority);
+        return rule;
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            subtotal = subtotal.add(unitPrices[i].multiply(new BigDecimal(quantities[i])));
+        }
+
+        BigDecimal totalDiscount = subtotal.multiply(PREMIUM_DISCOUNT_PERCENTAGE);
+        if (subtotal.compareTo(HIGH_ORDER_THRESHOLD) > 0) {
+            totalDiscount = totalDiscount.add(subtotal.multiply(HIGH_ORDER_DISCOUNT_PERCENTAGE));
+        }
+        blackhole.consume(subtotal.subtract(totalDiscount));
+
+        for (int i = 0; i < lines; i++) {
+            BigDecimal itemSubtotal = unitPrices[i].multiply(new BigDecimal(quantities[i]));
+            BigDecimal itemProportion = itemSubtotal.divide(subtotal, 4, RoundingMode.HALF_UP);
+            BigDecimal itemDiscount = totalDiscount.multiply(itemProportion);
+            blackhole.consume(itemDiscount);
+            blackhole.consume(itemSubtotal.subtract(itemDiscount));
+        }
+    }
+
+    @Benchmark
+    public void cents(Blackhole blackhole) {
+        // Entity prices are converted once, as OrderServiceImpl does
+        for (int i = 0; i < lines; i++) {
+            unitPriceCents[i] = Money.toCents(unitPrices[i]);
+        }
+        OrderPricing pricing = orderPricer.price(unitPriceCents, quantities, Role.PREMIUM_USER);
+        blackhole.consume(pricing.totalCents());
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(pricing.lineDiscountCents()[i]);
+            blackhole.consume(pricing.lineTotalCents(i));
+        }
+    }
+
+    @Benchmark
+    public OrderPricing centsOnly() {
+        return orderPricer.price(unitPriceCents, quantities, Role.PREMIUM_USER);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ECommerceTask.benchmark;
+
+import com.example.ECommerceTask.domain.Entity.Order;
+import com.example.ECommerceTask.domain.Entity.OrderItem;
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.domain.Entity.User;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.dto.order.OrderResponse;
+import com.example.ECommerceTask.service.impl.OrderResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two halves of answering an order listing: {@link OrderResponseMapper}'s
+ * entity-to-response mapping over detached orders, and Jackson serialization of
+ * the resulting {@link OrderResponse} list.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.includes=OrderResponseBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderResponseBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({"10", "100", "1000"})
+    private int orders;
+
+    private List<Order> entities;
+    private List<OrderResponse> responses;
+    private JsonMapper jsonMapper;
+
+    @Setup
+    public void setUp() {
+        User user = new User("benchmark-user", "", Role.USER);
+        user.setId(1L);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        entities = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order(user, new BigDecimal("89.97"));
+            order.setId((long) i + 1);
+            order.setCreatedAt(createdAt);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                Product product = new Product("Product " + j, null, new BigDecimal("29.99"), 100);
+                product.setId((long) j + 1);
+                OrderItem item = new OrderItem(order, product, 1,
+                        new BigDecimal("29.99"), BigDecimal.ZERO.setScale(2), new BigDecimal("29.99"));
+                item.setId((long) i * ITEMS_PER_ORDER + j + 1);
+                order.getItems().add(item);
+            }
+            entities.add(order);
+        }
+
+        responses = mapToResponse();
+        jsonMapper = JsonMapper.builder().build();
+    }
+
+    @Benchmark
+    public List<OrderResponse> mapToResponse() {
+        List<OrderResponse> mapped = new ArrayList<>(entities.size());
+        for (Order order : entities) {
+            mapped.add(OrderResponseMapper.toResponse(order, "benchmark-user"));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ECommerceTask.benchmark;
+
+import com.example.ECommerceTask.ECommerceTaskApplication;
+import com.example.ECommerceTask.dto.product.ProductRequest;
+import com.example.ECommerceTask.dto.product.ProductResponse;
+import com.example.ECommerceTask.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProductServiceImpl.search} end to end, against the application booted on
+ * an in-memory database seeded with a synthetic catalog: price and stock
+ * filters ordered by id (snapshot path), a name search (trigram index) and a
+ * price-ordered search that goes to the database.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.includes=ProductSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] WORDS = {"Wireless", "Mouse", "Keyboard", "Monitor", "Laptop", "Cable", "Stand", "Speaker"};
+    private static final BigDecimal MIN_PRICE = new BigDecimal("25.00");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("75.00");
+    private static final Pageable FIRST_PAGE_BY_ID = PageRequest.of(0, 20, Sort.by("id"));
+    private static final Pageable FIRST_PAGE_BY_PRICE = PageRequest.of(0, 20, Sort.by("price"));
+
+    @Param({"1000", "10000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ECommerceTaskApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:product-search-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        productService = context.getBean(ProductService.class);
+
+        // Created through the service so the snapshot and name index are kept in step
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < products; i++) {
+            ProductRequest request = new ProductRequest();
+            request.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+            request.setPrice(BigDecimal.valueOf(random.nextLong(100, 10_000), 2));
+            request.setQuantity(random.nextInt(10) == 0 ? 0 : random.nextInt(1, 500));
+            productService.create(request);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductResponse> priceRangeInStock() {
+        return productService.search(null, MIN_PRICE, MAX_PRICE, true, FIRST_PAGE_BY_ID);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> nameAndPriceRange() {
+        return productService.search("mouse", MIN_PRICE, MAX_PRICE, null, FIRST_PAGE_BY_ID);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> orderedByPrice() {
+        return productService.search(null, MIN_PRICE, MAX_PRICE, null, FIRST_PAGE_BY_PRICE);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ECommerceTask.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Actuator runs on its own port, where Prometheus scrapes without a token and
+ * the other endpoints still need an ADMIN token.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:actuator-access;DB_CLOSE_DELAY=-1",
+        "security.password-hashing.target-ms=1"
+})
+class ActuatorAccessTests {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Value("${local.management.port}")
+    private int managementPort;
+
+    @Test
+    void prometheusScrapesWithoutATokenOnTheManagementPort() throws Exception {
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus");
+
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body()).contains("jvm_memory_used_bytes");
+    }
+
+    @Test
+    void otherEndpointsStillNeedAToken() throws Exception {
+        assertThat(get(managementPort, "/actuator/health").statusCode()).isEqualTo(200);
+        assertThat(get(managementPort, "/actuator/metrics").statusCode()).isIn(401, 403);
+    }
+
+    @Test
+    void applicationPortDoesNotServeTheScrape() throws Exception {
+        assertThat(get(port, "/actuator/prometheus").statusCode()).isNotEqualTo(200);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
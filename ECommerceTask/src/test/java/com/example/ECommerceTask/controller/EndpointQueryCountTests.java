@@ -0,0 +1,132 @@
+package com.example.ECommerceTask.controller;
+
+import com.example.ECommerceTask.service.InventoryService;
+import com.example.ECommerceTask.support.SqlStatementClient;
+import com.example.ECommerceTask.support.SqlStatementClient.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static com.example.ECommerceTask.support.SqlStatementClient.assertAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL statement budgets per endpoint, read from the {@code X-Sql-Statements}
+ * response header. The budgets do not depend on how many rows a response
+ * holds, so an N+1 regression (a lazy association or a per-row lookup) fails
+ * here rather than showing up under load.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoint-query-count;DB_CLOSE_DELAY=-1",
+        "security.password-hashing.target-ms=1",
+        "sql.statements.response-headers=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTests {
+
+    private static final String PASSWORD = "password123";
+    private static final int PRODUCTS = 5;
+    private static final int ORDERS = 20;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    private SqlStatementClient client;
+    private String adminToken;
+    private String userToken;
+    private long[] productIds;
+    private long orderId;
+
+    @BeforeAll
+    void seed() {
+        client = new SqlStatementClient(port);
+        adminToken = registerAndLogin("query-count-admin", "ADMIN");
+        userToken = registerAndLogin("query-count-user", "USER");
+
+        productIds = new long[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            String body = "{\"name\":\"Budget product " + i + "\",\"price\":" + (10 + i) + ".50,\"quantity\":100000}";
+            productIds[i] = assertAtMost(client.post("/api/products", body, adminToken), 10).body().path("id").asLong();
+        }
+        orderId = placeOrder().body().path("id").asLong();
+    }
+
+    @Test
+    void productEndpoints() {
+        assertAtMost(client.get("/api/products?size=20", userToken), 2);
+        assertAtMost(client.get("/api/products?name=budget&size=20", userToken), 2);
+        assertAtMost(client.get("/api/products/" + productIds[0], userToken), 2);
+    }
+
+    @Test
+    void orderEndpoints() {
+        // Product load, version check, sequence, order and batched item inserts
+        assertAtMost(placeOrder(), 8);
+        assertAtMost(client.post("/api/orders/quote", cart(), userToken), 2);
+        assertAtMost(client.get("/api/orders/" + orderId, userToken), 4);
+    }
+
+    @Test
+    void adminEndpoints() {
+        assertAtMost(client.get("/api/users", adminToken), 2);
+        assertAtMost(client.get("/api/discount-rules", adminToken), 2);
+    }
+
+    @Test
+    void orderListsDoNotGrowWithTheNumberOfOrders() {
+        Response myOrdersBefore = assertAtMost(settledGet("/api/orders/my-orders", userToken), 4);
+        Response allOrdersBefore = assertAtMost(settledGet("/api/orders", adminToken), 5);
+
+        for (int i = 0; i < ORDERS; i++) {
+            placeOrder();
+        }
+
+        Response myOrdersAfter = assertAtMost(settledGet("/api/orders/my-orders", userToken), 4);
+        Response allOrdersAfter = assertAtMost(settledGet("/api/orders", adminToken), 5);
+        assertThat(myOrdersAfter.body().size()).isGreaterThan(myOrdersBefore.body().size());
+        assertThat(myOrdersAfter.statements()).isEqualTo(myOrdersBefore.statements());
+        assertThat(allOrdersAfter.statements()).isEqualTo(allOrdersBefore.statements());
+    }
+
+    /**
+     * A stock flush evicts the products it wrote from the second-level cache, so
+     * whether a list reloads them would otherwise depend on the flush timing.
+     * Flushes, warms the cache with one request and measures the next.
+     */
+    private Response settledGet(String path, String token) {
+        inventoryService.flush();
+        client.get(path, token);
+        return client.get(path, token);
+    }
+
+    private Response placeOrder() {
+        Response response = client.post("/api/orders", cart(), userToken);
+        assertThat(response.status()).isEqualTo(201);
+        return response;
+    }
+
+    private String cart() {
+        StringBuilder body = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < productIds.length; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"productId\":").append(productIds[i]).append(",\"quantity\":1}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private String registerAndLogin(String username, String role) {
+        Response registered = client.post("/api/auth/register",
+                "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"role\":\"" + role + "\"}", null);
+        assertThat(registered.status()).isEqualTo(201);
+        Response login = client.post("/api/auth/login",
+                "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        assertThat(login.status()).isEqualTo(200);
+        return login.body().path("token").asString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ECommerceTask.controller;
+
+import com.example.ECommerceTask.exception.GlobalExceptionHandler;
+import com.example.ECommerceTask.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProductControllerTests {
+
+    private final ProductService productService = mock(ProductService.class);
+    private final ProductController controller = new ProductController(productService);
+
+    @Test
+    void priceFiltersBeyondTheColumnAnswer400() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+
+        assertThatThrownBy(() -> search(new BigDecimal("1E+20"), null, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("minPrice");
+        IllegalArgumentException tooHigh = catchIllegalArgument(() -> search(null, new BigDecimal("100000000"), request));
+
+        assertThat(new GlobalExceptionHandler().handleIllegalArgument(tooHigh, request).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void fractionalCentBoundsAreSearched() {
+        BigDecimal minPrice = new BigDecimal("10.005");
+        BigDecimal maxPrice = new BigDecimal("99999999.99");
+        when(productService.getSearchETag(anyString())).thenReturn("c1");
+        when(productService.search(any(), any(), any(), any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        ResponseEntity<?> response = search(minPrice, maxPrice, new MockHttpServletRequest("GET", "/api/products"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(productService).search(eq(null), eq(minPrice), eq(maxPrice), eq(null), any(Pageable.class));
+    }
+
+    private ResponseEntity<?> search(BigDecimal minPrice, BigDecimal maxPrice, MockHttpServletRequest request) {
+        return controller.searchProducts(null, minPrice, maxPrice, null, 0, 50, "id", "asc",
+                new ServletWebRequest(request));
+    }
+
+    private static IllegalArgumentException catchIllegalArgument(Runnable action) {
+        try {
+            action.run();
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+        throw new AssertionError("Expected IllegalArgumentException");
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ECommerceTask.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoneyTests {
+
+    @Test
+    void sharesAddUpToTheTotal() {
+        long[] weights = {333, 333, 334, 1, 0};
+        long[] shares = new long[weights.length];
+
+        Money.allocate(1_000, weights, shares);
+
+        assertThat(Arrays.stream(shares).sum()).isEqualTo(1_000);
+        assertThat(shares[4]).isZero();
+    }
+
+    @Test
+    void remainderGoesToTheLargestWeight() {
+        long[] shares = new long[3];
+
+        // 100 / 3 rounds down to 33 each; the leftover cent goes to the heaviest line
+        Money.allocate(100, new long[]{10, 30, 20}, shares);
+        assertThat(shares).containsExactly(16, 51, 33);
+
+        Money.allocate(100, new long[]{1, 1, 1}, shares);
+        assertThat(shares).containsExactly(34, 33, 33);
+    }
+
+    @Test
+    void zeroTotalGivesZeroShares() {
+        long[] shares = {7, 7};
+
+        Money.allocate(0, new long[]{5, 10}, shares);
+
+        assertThat(shares).containsExactly(0, 0);
+    }
+
+    @Test
+    void zeroWeightsGiveTheWholeTotalToTheFirstLine() {
+        long[] shares = new long[3];
+
+        Money.allocate(50, new long[]{0, 0, 0}, shares);
+
+        assertThat(shares).containsExactly(50, 0, 0);
+    }
+
+    @Test
+    void negativeTotalIsSplitTowardZero() {
+        long[] shares = new long[3];
+
+        Money.allocate(-100, new long[]{1, 1, 1}, shares);
+
+        assertThat(shares).containsExactly(-34, -33, -33);
+        assertThat(Arrays.stream(shares).sum()).isEqualTo(-100);
+    }
+
+    @Test
+    void largeAmountsDoNotOverflow() {
+        long[] shares = new long[2];
+
+        Money.allocate(Long.MAX_VALUE / 2, new long[]{Long.MAX_VALUE / 4, Long.MAX_VALUE / 4}, shares);
+
+        assertThat(shares[0] + shares[1]).isEqualTo(Long.MAX_VALUE / 2);
+    }
+}
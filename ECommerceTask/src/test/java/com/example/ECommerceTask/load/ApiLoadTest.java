@@ -0,0 +1,342 @@
+package com.example.ECommerceTask.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-model load test against the application on a random port.
+ * <p>
+ * Requests are started at a fixed rate regardless of how fast earlier ones
+ * complete, each on its own virtual thread, so slow responses build up
+ * concurrency instead of throttling the load. Latency is measured from the time
+ * a request was scheduled to start, which keeps queueing delay in the
+ * percentiles. The traffic mix follows the API testing guide: login, product
+ * search, product lookup, order creation and my-orders.
+ * <p>
+ * Excluded from the normal build; run with {@code mvn -Pload test}. Tune with
+ * {@code -Dload.rate=<requests/s>}, {@code -Dload.duration-seconds},
+ * {@code -Dload.warmup-seconds}, {@code -Dload.users}, {@code -Dload.products},
+ * {@code -Dload.datasource-url} (e.g. a {@code jdbc:h2:file:} URL) and
+ * {@code -Dload.output}. Results are printed and written as JSON.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Login is part of the mix; keep BCrypt at its minimum cost so it does not dominate
+        "security.password-hashing.target-ms=1",
+        "logging.level.root=WARN"
+})
+class ApiLoadTest {
+
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int PRODUCTS = Integer.getInteger("load.products", 1000);
+    private static final String OUTPUT = System.getProperty("load.output", "target/load-test-result.json");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String[] SEARCH_TERMS = {"mouse", "keyboard", "monitor", "laptop", "cable"};
+    private static final String[] WORDS = {"Wireless", "Mouse", "Keyboard", "Monitor", "Laptop", "Cable", "Stand", "Speaker"};
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> System.getProperty("load.datasource-url", "jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1"));
+    }
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private HttpClient httpClient;
+    private List<String> usernames;
+    private List<String> tokens;
+    private long[] productIds;
+    private List<Scenario> scenarios;
+
+    @Test
+    void replayWeightedTraffic() throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            httpClient = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            seed();
+
+            scenarios = List.of(
+                    new Scenario("search", 40, this::search),
+                    new Scenario("product-get", 30, this::getProduct),
+                    new Scenario("create-order", 15, this::createOrder),
+                    new Scenario("my-orders", 10, this::myOrders),
+                    new Scenario("login", 5, this::login));
+            int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+            long totalRequests = (long) RATE * (WARMUP_SECONDS + DURATION_SECONDS);
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+
+            for (long i = 0; i < totalRequests; i++) {
+                long intendedStart = start + i * intervalNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Scenario scenario = pick(totalWeight);
+                boolean measured = intendedStart >= measureFrom;
+                clients.execute(() -> scenario.run(intendedStart, measured));
+            }
+            // Closing the executor waits for every request still in flight
+        }
+
+        Map<String, Object> report = report();
+        File output = new File(OUTPUT);
+        output.getAbsoluteFile().getParentFile().mkdirs();
+        jsonMapper.writerWithDefaultPrettyPrinter().writeValue(output, report);
+        System.out.println(jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        for (Scenario scenario : scenarios) {
+            assertThat(scenario.errorRate())
+                    .as("error rate of %s", scenario.name())
+                    .isLessThanOrEqualTo(MAX_ERROR_RATE);
+        }
+    }
+
+    // ---------------- Scenarios ----------------
+
+    private HttpResponse<String> search(int client) throws Exception {
+        String term = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+        return send(get("/api/products?name=" + term + "&maxPrice=75.00&available=true&size=20", tokens.get(client)));
+    }
+
+    private HttpResponse<String> getProduct(int client) throws Exception {
+        return send(get("/api/products/" + randomProduct(), tokens.get(client)));
+    }
+
+    private HttpResponse<String> createOrder(int client) throws Exception {
+        String body = "{\"items\":[{\"productId\":" + randomProduct() + ",\"quantity\":1}," +
+                "{\"productId\":" + randomProduct() + ",\"quantity\":2}]}";
+        return send(post("/api/orders", body, tokens.get(client)));
+    }
+
+    private HttpResponse<String> myOrders(int client) throws Exception {
+        return send(get("/api/orders/my-orders", tokens.get(client)));
+    }
+
+    private HttpResponse<String> login(int client) throws Exception {
+        return send(post("/api/auth/login", credentials(usernames.get(client)), null));
+    }
+
+    // ---------------- Setup ----------------
+
+    /**
+     * Registers an admin and the client users through the API, logs them in and
+     * creates the catalog with enough stock that orders never run out.
+     */
+    private void seed() throws Exception {
+        String admin = "load-admin";
+        expect(send(post("/api/auth/register", registration(admin, "ADMIN"), null)), 201);
+        String adminToken = token(admin);
+
+        productIds = new long[PRODUCTS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PRODUCTS; i++) {
+            String body = "{\"name\":\"" + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] +
+                    " " + i + "\",\"price\":" + random.nextInt(1, 100) + ".99,\"quantity\":1000000}";
+            HttpResponse<String> response = expect(send(post("/api/products", body, adminToken)), 201);
+            productIds[i] = jsonMapper.readTree(response.body()).path("id").asLong();
+        }
+
+        usernames = new ArrayList<>(USERS);
+        tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String username = "load-user-" + i;
+            expect(send(post("/api/auth/register", registration(username, i % 4 == 0 ? "PREMIUM_USER" : "USER"), null)), 201);
+            usernames.add(username);
+            tokens.add(token(username));
+        }
+    }
+
+    private String token(String username) throws Exception {
+        HttpResponse<String> response = expect(send(post("/api/auth/login", credentials(username), null)), 200);
+        JsonNode body = jsonMapper.readTree(response.body());
+        return body.path("token").asString();
+    }
+
+    private static String registration(String username, String role) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"role\":\"" + role + "\"}";
+    }
+
+    private static String credentials(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private static HttpResponse<String> expect(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Expected " + status + " but got " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    // ---------------- HTTP ----------------
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long randomProduct() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+
+    // ---------------- Reporting ----------------
+
+    private Scenario pick(int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    private Map<String, Object> report() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("rate", RATE);
+        config.put("durationSeconds", DURATION_SECONDS);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+        config.put("users", USERS);
+        config.put("products", PRODUCTS);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            Histogram histogram = scenario.latencies;
+            long requests = scenario.requests.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", requests);
+            stats.put("errors", scenario.errors.sum());
+            stats.put("errorRate", scenario.errorRate());
+            stats.put("throughputPerSecond", (double) requests / DURATION_SECONDS);
+            stats.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            stats.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            stats.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            stats.put("maxMs", millis(histogram.getMaxValue()));
+            endpoints.put(scenario.name(), stats);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("config", config);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send(int client) throws Exception;
+    }
+
+    /**
+     * One weighted request type with its own latency histogram (microseconds) and counters.
+     */
+    private static final class Scenario {
+
+        private final String name;
+        private final int weight;
+        private final Call call;
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Scenario(String name, int weight, Call call) {
+            this.name = name;
+            this.weight = weight;
+            this.call = call;
+        }
+
+        private String name() {
+            return name;
+        }
+
+        private int weight() {
+            return weight;
+        }
+
+        private void run(long intendedStart, boolean measured) {
+            boolean failed;
+            try {
+                int status = call.send(ThreadLocalRandom.current().nextInt(USERS)).statusCode();
+                failed = status >= 400;
+            } catch (Exception e) {
+                failed = true;
+            }
+            if (!measured) {
+                return;
+            }
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+            requests.increment();
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        private double errorRate() {
+            long total = requests.sum();
+            return total == 0 ? 0 : (double) errors.sum() / total;
+        }
+    }
+}
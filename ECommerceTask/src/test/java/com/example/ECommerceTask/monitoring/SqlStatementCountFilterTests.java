@@ -0,0 +1,60 @@
+package com.example.ECommerceTask.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCountFilterTests {
+
+    private final SqlStatementCountFilter filter =
+            new SqlStatementCountFilter(10, true, new String[]{"/api/orders/export"});
+
+    @Test
+    void statementsRunWhileWritingTheBodyAreInTheHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/my-orders"), response, (req, res) -> {
+            SqlStatementCounter.record("select * from orders where user_id = 1");
+            res.getOutputStream().write("[{\"id\":1".getBytes(StandardCharsets.UTF_8));
+            // A lazy association initialized by the serializer, after part of the body was written
+            SqlStatementCounter.record("select * from order_items where order_id = 1");
+            SqlStatementCounter.record("select * from order_items where order_id = 2");
+            res.getOutputStream().write("}]".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(response.getHeader(SqlStatementCountFilter.STATEMENTS_HEADER)).isEqualTo("3");
+        assertThat(response.getHeader(SqlStatementCountFilter.SHAPES_HEADER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).isEqualTo("[{\"id\":1}]");
+    }
+
+    @Test
+    void unbufferedPathsStreamWithoutHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/export"), response, (req, res) -> {
+            res.getOutputStream().write("order_id\n".getBytes(StandardCharsets.UTF_8));
+            assertThat(res).isSameAs(response);
+        });
+
+        assertThat(response.getHeader(SqlStatementCountFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("order_id\n");
+    }
+
+    @Test
+    void headersAreOffByDefault() throws Exception {
+        SqlStatementCountFilter defaults = new SqlStatementCountFilter(10, false, new String[0]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        defaults.doFilter(new MockHttpServletRequest("GET", "/api/orders/my-orders"), response, (req, res) -> {
+            SqlStatementCounter.record("select * from orders where user_id = 1");
+            assertThat(res).isSameAs(response);
+        });
+
+        assertThat(response.getHeader(SqlStatementCountFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(response.getHeader(SqlStatementCountFilter.SHAPES_HEADER)).isNull();
+    }
+}
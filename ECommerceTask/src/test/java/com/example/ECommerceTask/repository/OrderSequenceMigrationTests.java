@@ -0,0 +1,61 @@
+package com.example.ECommerceTask.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V4 starts the order sequences from a subquery over the existing rows, which
+ * H2 evaluates but many other databases reject. Runs the migrations against a
+ * database that already holds orders to check the sequences start above them.
+ */
+class OrderSequenceMigrationTests {
+
+    private static final String URL = "jdbc:h2:mem:order-sequence-migration;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void sequencesStartAboveExistingIds() throws SQLException {
+        flyway("3").migrate();
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, password, role) VALUES (1, 'existing', 'x', 'USER')");
+            statement.execute("INSERT INTO products (id, name, price, quantity) VALUES (1, 'Existing', 1.00, 1)");
+            statement.execute("INSERT INTO orders (id, user_id, order_total) VALUES (120, 1, 1.00)");
+            statement.execute("INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, total_price) " +
+                    "VALUES (430, 120, 1, 1, 1.00, 1.00)");
+        }
+
+        flyway(null).migrate();
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            // Hibernate's pooled optimizer hands out (value - 49 .. value)
+            assertThat(nextValue(statement, "orders_seq") - 49).isGreaterThan(120);
+            assertThat(nextValue(statement, "order_items_seq") - 49).isGreaterThan(430);
+        }
+    }
+
+    private static Flyway flyway(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private static long nextValue(Statement statement, String sequence) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT NEXT VALUE FOR " + sequence)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
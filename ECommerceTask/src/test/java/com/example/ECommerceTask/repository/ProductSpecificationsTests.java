@@ -0,0 +1,71 @@
+package com.example.ECommerceTask.repository;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-specifications;DB_CLOSE_DELAY=-1")
+class ProductSpecificationsTests {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+        ids = productRepository.saveAll(List.of(
+                new Product("Blue Widget", null, new BigDecimal("10.00"), 5),
+                new Product("blue_gadget", null, new BigDecimal("20.00"), 0),
+                new Product("100% Cotton Shirt", null, new BigDecimal("30.00"), 3),
+                new Product("Bluetooth Speaker", null, new BigDecimal("40.00"), 1)
+        )).stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void nameMatchesSubstringsIgnoringCase() {
+        assertThat(names(ProductSpecifications.search("BLUE", null, null, null)))
+                .containsExactlyInAnyOrder("Blue Widget", "blue_gadget", "Bluetooth Speaker");
+    }
+
+    @Test
+    void likeWildcardsInTheNameAreLiteral() {
+        assertThat(names(ProductSpecifications.search("e_g", null, null, null))).containsExactly("blue_gadget");
+        assertThat(names(ProductSpecifications.search("0% c", null, null, null))).containsExactly("100% Cotton Shirt");
+        assertThat(names(ProductSpecifications.search("%", null, null, null))).containsExactly("100% Cotton Shirt");
+    }
+
+    @Test
+    void priceBoundsAreInclusive() {
+        assertThat(names(ProductSpecifications.search(null, new BigDecimal("20.00"), new BigDecimal("30.00"), null)))
+                .containsExactlyInAnyOrder("blue_gadget", "100% Cotton Shirt");
+    }
+
+    @Test
+    void availabilityFiltersOnStoredQuantity() {
+        assertThat(names(ProductSpecifications.search(null, null, null, false))).containsExactly("blue_gadget");
+        assertThat(names(ProductSpecifications.search("blue", null, null, true)))
+                .containsExactlyInAnyOrder("Blue Widget", "Bluetooth Speaker");
+    }
+
+    @Test
+    void idInCombinesWithTheOtherFilters() {
+        Specification<Product> specification = ProductSpecifications.search(null, null, new BigDecimal("25.00"), null)
+                .and(ProductSpecifications.idIn(List.of(ids.get(1), ids.get(2))));
+
+        assertThat(names(specification)).containsExactly("blue_gadget");
+    }
+
+    private List<String> names(Specification<Product> specification) {
+        return productRepository.findAll(specification).stream().map(Product::getName).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.ECommerceTask.repository;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.domain.Entity.User;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.service.InventoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTests {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedProductLookupsAreServedFromTheCache() {
+        Long id = productRepository.save(new Product("Cached product", null, new BigDecimal("5.00"), 10)).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // First lookup misses and reads the row, later ones never reach the database
+        productRepository.findById(id).orElseThrow();
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+        for (int i = 0; i < 10; i++) {
+            productRepository.findById(id).orElseThrow();
+        }
+
+        assertThat(statementsAfterFirstLookup).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(10);
+    }
+
+    @Test
+    void inventoryFlushKeepsOtherProductsCached() {
+        Long cachedId = productRepository.save(new Product("Cached through flush", null, new BigDecimal("5.00"), 10)).getId();
+        Long soldId = productRepository.save(new Product("Sold product", null, new BigDecimal("5.00"), 10)).getId();
+        productRepository.findById(cachedId).orElseThrow();
+        assertThat(inventoryService.reserve(soldId, 2)).isTrue();
+        statistics.clear();
+
+        // Runs alongside the scheduled flush, which uses the default interval here
+        inventoryService.flush();
+        for (int i = 0; i < 10; i++) {
+            productRepository.findById(cachedId).orElseThrow();
+        }
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(10);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+        assertThat(productRepository.findById(soldId).orElseThrow().getQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    void softDeletedProductIsNotServedFromTheCache() {
+        Product product = productRepository.save(new Product("Deleted product", null, new BigDecimal("5.00"), 10));
+        productRepository.findById(product.getId()).orElseThrow();
+
+        productRepository.delete(product);
+
+        assertThat(productRepository.findById(product.getId())).isEmpty();
+    }
+
+    @Test
+    void findByUsernameUsesTheQueryCache() {
+        userRepository.save(new User("cached-user", "password", Role.USER));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        for (int i = 0; i < 10; i++) {
+            userRepository.findByUsername("cached-user").orElseThrow();
+        }
+
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(9);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
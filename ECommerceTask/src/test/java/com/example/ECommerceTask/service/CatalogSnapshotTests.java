@@ -0,0 +1,80 @@
+package com.example.ECommerceTask.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTests {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        // Filled directly, so it never touches the repository
+        snapshot = new CatalogSnapshot(null);
+        snapshot.replaceAll(new long[]{1, 2, 3, 4}, new long[]{1000, 2000, 3000, 4000}, new int[]{5, 0, 3, 1});
+    }
+
+    @Test
+    void filtersOnPriceRangeAndAvailability() {
+        assertThat(snapshot.filter(2000, 3000, CatalogSnapshot.ANY)).containsExactly(2, 3);
+        assertThat(snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.IN_STOCK)).containsExactly(1, 3, 4);
+        assertThat(snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.OUT_OF_STOCK)).containsExactly(2);
+        assertThat(snapshot.filter(new long[]{2, 4, 9}, 0, 5000, CatalogSnapshot.ANY)).containsExactly(2, 4);
+    }
+
+    @Test
+    void upsertUpdatesAppendsAndInserts() {
+        snapshot.upsert(2L, new BigDecimal("25.00"), 7);
+        snapshot.upsert(10L, new BigDecimal("5.00"), 1);
+        snapshot.remove(3L);
+        snapshot.upsert(3L, new BigDecimal("30.00"), 0);
+
+        assertThat(snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.IN_STOCK)).containsExactly(1, 2, 4, 10);
+        assertThat(snapshot.filter(2500, 2500, CatalogSnapshot.ANY)).containsExactly(2);
+        assertThat(snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.ANY)).containsExactly(1, 2, 3, 4, 10);
+
+        // An id below the highest one is inserted in order
+        snapshot.upsert(5L, new BigDecimal("1.00"), 2);
+        assertThat(snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.ANY)).containsExactly(1, 2, 3, 4, 5, 10);
+    }
+
+    @Test
+    void updateQuantitiesChangesAvailability() {
+        snapshot.updateQuantities(new long[]{1, 2, 99}, new int[]{0, 4, 1});
+
+        assertThat(snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.IN_STOCK)).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    void deletedSlotsAreCompacted() {
+        snapshot.remove(1L);
+        assertThat(snapshot.slotCount()).isEqualTo(4);
+
+        snapshot.remove(2L);
+        assertThat(snapshot.slotCount()).isEqualTo(2);
+        assertThat(snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.ANY)).containsExactly(3, 4);
+    }
+
+    @Test
+    void appendsAndUpdatesSpanManyBlocks() {
+        int products = CatalogSnapshot.BLOCK_SIZE * 3 + 17;
+        snapshot.replaceAll(new long[0], new long[0], new int[0]);
+        for (long id = 1; id <= products; id++) {
+            snapshot.upsert(id, BigDecimal.valueOf(id, 2), 1);
+        }
+        snapshot.updateQuantities(new long[]{1, CatalogSnapshot.BLOCK_SIZE + 1, products}, new int[]{0, 0, 0});
+        snapshot.upsert(2000L, new BigDecimal("0.01"), 1);
+
+        long[] inStock = snapshot.filter(Long.MIN_VALUE, Long.MAX_VALUE, CatalogSnapshot.IN_STOCK);
+        assertThat(inStock).hasSize(products - 3);
+        assertThat(inStock).doesNotContain(1, CatalogSnapshot.BLOCK_SIZE + 1, products);
+        assertThat(snapshot.filter(1, 1, CatalogSnapshot.ANY)).containsExactly(1, 2000);
+        assertThat(snapshot.filter(LongStream.rangeClosed(3000, 3010).toArray(), 0, Long.MAX_VALUE, CatalogSnapshot.ANY))
+                .containsExactly(LongStream.rangeClosed(3000, 3010).toArray());
+    }
+}
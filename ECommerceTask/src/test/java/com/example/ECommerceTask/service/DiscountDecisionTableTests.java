@@ -0,0 +1,144 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Entity.DiscountRule;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.service.DiscountDecisionTable.AppliedDiscount;
+import com.example.ECommerceTask.service.DiscountDecisionTable.Discount;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiscountDecisionTableTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+    private static final long NOW_MILLIS = NOW.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    @Test
+    void matchingRulesStackInPriorityOrder() {
+        DiscountRule everyone = rule(1L, "EVERYONE_5", null, "5.00", 20);
+        DiscountRule premium = rule(2L, "PREMIUM_10", Role.PREMIUM_USER, "10.00", 10);
+        DiscountDecisionTable table = compile(everyone, premium);
+
+        Discount discount = table.evaluate(10_000, Role.PREMIUM_USER, NOW_MILLIS);
+
+        assertThat(discount.cents()).isEqualTo(1_500);
+        assertThat(discount.appliedRules()).containsExactly(
+                new AppliedDiscount("PREMIUM_10", 1_000),
+                new AppliedDiscount("EVERYONE_5", 500));
+        // Rules for another role are not compiled into this role's table
+        assertThat(table.evaluate(10_000, Role.USER, NOW_MILLIS).appliedRules())
+                .containsExactly(new AppliedDiscount("EVERYONE_5", 500));
+    }
+
+    @Test
+    void equalPrioritiesAreOrderedById() {
+        DiscountRule second = rule(2L, "SECOND", null, "1.00", 10);
+        DiscountRule first = rule(1L, "FIRST", null, "1.00", 10);
+
+        Discount discount = compile(second, first).evaluate(10_000, Role.USER, NOW_MILLIS);
+
+        assertThat(discount.appliedRules()).extracting(AppliedDiscount::rule).containsExactly("FIRST", "SECOND");
+    }
+
+    @Test
+    void ruleAmountIsCappedAtItsMaximum() {
+        DiscountRule capped = rule(1L, "CAPPED_20", null, "20.00", 10);
+        capped.setMaxDiscount(new BigDecimal("15.00"));
+
+        Discount discount = compile(capped).evaluate(10_000, Role.USER, NOW_MILLIS);
+
+        assertThat(discount.cents()).isEqualTo(1_500);
+        assertThat(discount.appliedRules()).containsExactly(new AppliedDiscount("CAPPED_20", 1_500));
+    }
+
+    @Test
+    void subtotalThresholdIsExclusive() {
+        DiscountRule highOrder = rule(1L, "HIGH_ORDER_5", null, "5.00", 10);
+        highOrder.setSubtotalAbove(new BigDecimal("500.00"));
+        DiscountDecisionTable table = compile(highOrder);
+
+        assertThat(table.evaluate(50_000, Role.USER, NOW_MILLIS)).isEqualTo(Discount.NONE);
+        assertThat(table.evaluate(50_001, Role.USER, NOW_MILLIS).cents()).isEqualTo(2_500);
+    }
+
+    @Test
+    void rulesApplyOnlyWithinTheirWindow() {
+        DiscountRule current = rule(1L, "CURRENT", null, "1.00", 10);
+        current.setStartsAt(NOW);
+        current.setEndsAt(NOW.plusDays(1));
+        DiscountRule expired = rule(2L, "EXPIRED", null, "2.00", 20);
+        expired.setEndsAt(NOW);
+        DiscountRule upcoming = rule(3L, "UPCOMING", null, "3.00", 30);
+        upcoming.setStartsAt(NOW.plusSeconds(1));
+
+        Discount discount = compile(current, expired, upcoming).evaluate(10_000, Role.USER, NOW_MILLIS);
+
+        // The start is inclusive and the end exclusive
+        assertThat(discount.appliedRules()).containsExactly(new AppliedDiscount("CURRENT", 100));
+    }
+
+    @Test
+    void windowStartChangesOnlyWhereAWindowOpensOrCloses() {
+        DiscountRule timed = rule(1L, "TIMED", Role.PREMIUM_USER, "1.00", 10);
+        timed.setStartsAt(NOW);
+        timed.setEndsAt(NOW.plusDays(1));
+        DiscountDecisionTable table = compile(timed, rule(2L, "ALWAYS", null, "1.00", 20));
+        long endMillis = NOW_MILLIS + 86_400_000L;
+
+        assertThat(table.windowStart(NOW_MILLIS - 1)).isEqualTo(Long.MIN_VALUE);
+        assertThat(table.windowStart(NOW_MILLIS)).isEqualTo(NOW_MILLIS);
+        assertThat(table.windowStart(endMillis - 1)).isEqualTo(NOW_MILLIS);
+        assertThat(table.windowStart(endMillis)).isEqualTo(endMillis);
+        assertThat(compile(rule(3L, "UNBOUNDED", null, "1.00", 10)).windowStart(NOW_MILLIS))
+                .isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void stopProcessingSkipsLaterRules() {
+        DiscountRule exclusive = rule(1L, "EXCLUSIVE", null, "10.00", 10);
+        exclusive.setStopProcessing(true);
+        DiscountRule later = rule(2L, "LATER", null, "5.00", 20);
+
+        Discount discount = compile(exclusive, later).evaluate(10_000, Role.USER, NOW_MILLIS);
+
+        assertThat(discount.appliedRules()).containsExactly(new AppliedDiscount("EXCLUSIVE", 1_000));
+    }
+
+    @Test
+    void stopProcessingOnlyCountsWhenTheRuleMatches() {
+        DiscountRule exclusive = rule(1L, "EXCLUSIVE", Role.PREMIUM_USER, "10.00", 10);
+        exclusive.setStopProcessing(true);
+        DiscountRule later = rule(2L, "LATER", null, "5.00", 20);
+
+        Discount discount = compile(exclusive, later).evaluate(10_000, Role.USER, NOW_MILLIS);
+
+        assertThat(discount.appliedRules()).containsExactly(new AppliedDiscount("LATER", 500));
+    }
+
+    @Test
+    void inactiveRulesAreDropped() {
+        DiscountRule inactive = rule(1L, "INACTIVE", null, "10.00", 10);
+        inactive.setActive(false);
+
+        assertThat(compile(inactive).evaluate(10_000, Role.USER, NOW_MILLIS)).isEqualTo(Discount.NONE);
+    }
+
+    private static DiscountRule rule(Long id, String name, Role role, String percentage, int priority) {
+        DiscountRule rule = new DiscountRule();
+        rule.setId(id);
+        rule.setName(name);
+        rule.setRole(role);
+        rule.setPercentage(new BigDecimal(percentage));
+        rule.setPriority(priority);
+        return rule;
+    }
+
+    private static DiscountDecisionTable compile(DiscountRule... rules) {
+        return DiscountDecisionTable.compile(List.of(rules), 1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.domain.Entity.User;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.dto.order.OrderItemRequest;
+import com.example.ECommerceTask.dto.order.OrderRequest;
+import com.example.ECommerceTask.dto.order.OrderResponse;
+import com.example.ECommerceTask.exception.IdempotencyKeyMismatchException;
+import com.example.ECommerceTask.repository.OrderRepository;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.repository.UserRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1")
+class IdempotencyServiceTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private AuthenticatedUser principal;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        String username = "idempotency-" + UUID.randomUUID();
+        User user = userRepository.save(new User(username, "password", Role.USER));
+        principal = new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                "idempotency-token", Instant.now(), Instant.now().plusSeconds(3600));
+        productId = productRepository.save(new Product("Idempotent product", null, new BigDecimal("10.00"), 1000)).getId();
+    }
+
+    @Test
+    void replayReturnsTheOriginalOrder() {
+        OrderRequest request = request(2);
+        long ordersBefore = orderRepository.count();
+
+        OrderResponse first = place("replay-key", request);
+        OrderResponse replay = place("replay-key", request(2));
+
+        assertThat(replay.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    @Test
+    void concurrentDuplicatesCreateOneOrder() throws Exception {
+        long ordersBefore = orderRepository.count();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<OrderResponse>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return place("concurrent-key", request(1));
+            }));
+        }
+
+        start.countDown();
+        Long orderId = null;
+        for (Future<OrderResponse> result : results) {
+            OrderResponse response = result.get(30, TimeUnit.SECONDS);
+            if (orderId == null) {
+                orderId = response.getId();
+            }
+            assertThat(response.getId()).isEqualTo(orderId);
+        }
+        executor.shutdown();
+
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        long ordersBefore = orderRepository.count();
+        place("mismatch-key", request(1));
+
+        assertThatThrownBy(() -> place("mismatch-key", request(3)))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+    }
+
+    private OrderResponse place(String key, OrderRequest request) {
+        return idempotencyService.execute(key, principal, request, () -> orderService.create(request, principal));
+    }
+
+    private OrderRequest request(int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenServiceTests {
+
+    private static final String SECRET = "mySecretKeyThatIsAtLeast256BitsLongForHS256AlgorithmSecurityPleaseChangeInProduction";
+
+    @Test
+    void verifiedTokensAreServedFromTheCache() {
+        JwtTokenService service = service(86_400_000L);
+        String token = service.generateToken(7L, "cached-user", "PREMIUM_USER");
+
+        AuthenticatedUser first = service.authenticate(token);
+
+        assertThat(first.getId()).isEqualTo(7L);
+        assertThat(first.getUsername()).isEqualTo("cached-user");
+        assertThat(first.getRole()).isEqualTo(Role.PREMIUM_USER);
+        assertThat(service.authenticate(token)).isSameAs(first);
+    }
+
+    @Test
+    void cachedTokenExpiresWithItsExpClaim() throws InterruptedException {
+        JwtTokenService service = service(1_500L);
+        String token = service.generateToken(7L, "expiring-user", "USER");
+        AuthenticatedUser user = service.authenticate(token);
+
+        // exp has second precision, so wait until just past the value in the token
+        Duration untilExpired = Duration.between(Instant.now(), user.getExpiresAt()).plusMillis(100);
+        Thread.sleep(Math.max(0, untilExpired.toMillis()));
+
+        assertThatThrownBy(() -> service.authenticate(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void tokensSignedWithAnotherKeyAreRejected() {
+        JwtTokenService other = service(86_400_000L);
+        ReflectionTestUtils.setField(other, "secret", SECRET.replace('m', 'n'));
+        ReflectionTestUtils.invokeMethod(other, "init");
+        String forged = other.generateToken(7L, "forged-user", "ADMIN");
+
+        assertThatThrownBy(() -> service(86_400_000L).authenticate(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    private static JwtTokenService service(long expirationMillis) {
+        JwtTokenService service = new JwtTokenService();
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "expiration", expirationMillis);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.service.DiscountDecisionTable.AppliedDiscount;
+import com.example.ECommerceTask.service.DiscountDecisionTable.Discount;
+import com.example.ECommerceTask.service.OrderPricer.OrderPricing;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderPricerTests {
+
+    private final DiscountCalculatorService discountCalculatorService = mock(DiscountCalculatorService.class);
+    private final OrderPricer orderPricer = new OrderPricer(discountCalculatorService);
+
+    @Test
+    void lineDiscountsAddUpToTheOrderDiscount() {
+        when(discountCalculatorService.calculateTotalDiscount(1_000, Role.USER))
+                .thenReturn(new Discount(100, List.of(new AppliedDiscount("Ten percent", 100))));
+
+        OrderPricing pricing = orderPricer.price(new long[]{100, 300}, new int[]{1, 3}, Role.USER);
+
+        assertThat(pricing.subtotalCents()).isEqualTo(1_000);
+        assertThat(pricing.lineDiscountCents()).containsExactly(10, 90);
+        assertThat(pricing.totalCents()).isEqualTo(900);
+        assertThat(pricing.appliedDiscounts()).containsExactly(new AppliedDiscount("Ten percent", 100));
+    }
+
+    @Test
+    void cappedDiscountIsAllocatedBackAcrossTheRules() {
+        when(discountCalculatorService.calculateTotalDiscount(1_000, Role.PREMIUM_USER))
+                .thenReturn(new Discount(1_500, List.of(
+                        new AppliedDiscount("Premium", 1_000),
+                        new AppliedDiscount("Seasonal", 500))));
+
+        OrderPricing pricing = orderPricer.price(new long[]{1_000}, new int[]{1}, Role.PREMIUM_USER);
+
+        assertThat(pricing.discountCents()).isEqualTo(1_000);
+        assertThat(pricing.totalCents()).isZero();
+        assertThat(pricing.appliedDiscounts()).containsExactly(
+                new AppliedDiscount("Premium", 667),
+                new AppliedDiscount("Seasonal", 333));
+        assertThat(pricing.appliedDiscounts().stream().mapToLong(AppliedDiscount::cents).sum())
+                .isEqualTo(pricing.discountCents());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.exception.GlobalExceptionHandler;
+import com.example.ECommerceTask.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTests {
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        service.shutdown();
+    }
+
+    @Test
+    void saturatedPoolAnswers503WithRetryAfter() throws Exception {
+        service = new PasswordHashingService(new BlockingEncoder(), 2, 10_000, 3);
+        int capacity = THREADS + 2;
+        List<Future<String>> hashes = new ArrayList<>();
+        for (int i = 0; i < capacity; i++) {
+            hashes.add(callers.submit(() -> service.encode("password")));
+        }
+        await(() -> service.inFlightCount() == capacity);
+
+        ServiceBusyException busy = catchBusy(() -> service.encode("one-too-many"));
+        assertThat(busy.getRetryAfterSeconds()).isEqualTo(3);
+
+        var response = new GlobalExceptionHandler().handleServiceBusy(
+                busy, new MockHttpServletRequest("POST", "/api/auth/login"));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+
+        // Once the pool drains, hashing is accepted again
+        release.countDown();
+        for (Future<String> hash : hashes) {
+            assertThat(hash.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:password");
+        }
+        await(() -> service.inFlightCount() == 0);
+        assertThat(service.encode("after")).isEqualTo("hashed:after");
+    }
+
+    @Test
+    void timedOutHashKeepsItsPlaceUntilItFinishes() throws Exception {
+        service = new PasswordHashingService(new BlockingEncoder(), 1, 200, 1);
+        List<Future<?>> timedOut = new ArrayList<>();
+        for (int i = 0; i < THREADS + 1; i++) {
+            timedOut.add(callers.submit(() -> catchBusy(() -> service.encode("slow"))));
+        }
+        for (Future<?> caller : timedOut) {
+            caller.get(5, TimeUnit.SECONDS);
+        }
+
+        // The queued hash was dropped; the running ones still occupy every thread,
+        // so a new hash can only queue behind them and times out too
+        assertThat(service.inFlightCount()).isEqualTo(THREADS);
+        assertThatThrownBy(() -> service.encode("late")).isInstanceOf(ServiceBusyException.class);
+        assertThat(service.inFlightCount()).isEqualTo(THREADS);
+
+        release.countDown();
+        await(() -> service.inFlightCount() == 0);
+        assertThat(service.encode("after")).isEqualTo("hashed:after");
+    }
+
+    private static ServiceBusyException catchBusy(Runnable action) {
+        try {
+            action.run();
+        } catch (ServiceBusyException e) {
+            return e;
+        }
+        throw new AssertionError("Expected ServiceBusyException");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not reached within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Hashes only once the test lets it, like a BCrypt call that cannot be interrupted.
+     */
+    private final class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ECommerceTask.service;
+
+import com.example.ECommerceTask.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductNameIndexTests {
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(mock(ProductRepository.class));
+        index.index(1L, "Wireless Mouse");
+        index.index(2L, "Wired Keyboard");
+        index.index(3L, "MOUSE PAD");
+    }
+
+    @Test
+    void matchesSubstringsIgnoringCase() {
+        assertThat(index.search("mouse")).containsExactly(1L, 3L);
+        assertThat(index.search("WIRE")).containsExactly(1L, 2L);
+        assertThat(index.search("less mo")).containsExactly(1L);
+    }
+
+    @Test
+    void queriesShorterThanATrigramAreNotAnswered() {
+        assertThat(index.search("mo")).isNull();
+        assertThat(index.search(null)).isNull();
+    }
+
+    @Test
+    void sharingEveryTrigramIsNotEnoughToMatch() {
+        index.index(4L, "abcx bcd");
+
+        // "abc" and "bcd" are both in the name, "abcd" is not
+        assertThat(index.search("abcd")).isEmpty();
+        assertThat(index.search("zzz")).isEmpty();
+    }
+
+    @Test
+    void removedAndRenamedProductsStopMatching() {
+        index.remove(1L);
+        index.index(3L, "Desk Mat");
+
+        assertThat(index.search("mouse")).isEmpty();
+        assertThat(index.search("mat")).containsExactly(3L);
+        assertThat(index.search("wire")).containsExactly(2L);
+    }
+
+    @Test
+    void ordinalsAreReusedUnderChurn() {
+        int initial = index.ordinalCount();
+        for (long id = 100; id < 2100; id++) {
+            index.index(id, "Churn product " + id);
+            index.remove(id);
+        }
+
+        assertThat(index.ordinalCount()).isEqualTo(initial + 1);
+        assertThat(index.search("churn")).isEmpty();
+        assertThat(index.search("mouse")).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void manyProductsSurviveTableGrowthAndRemoval() {
+        for (long id = 10; id < 5010; id++) {
+            index.index(id, "item-" + id);
+        }
+        for (long id = 10; id < 5010; id += 2) {
+            index.remove(id);
+        }
+
+        assertThat(index.search("item-4321")).containsExactly(4321L);
+        assertThat(index.search("item-4320")).isEmpty();
+        assertThat(index.search("item-")).hasSize(2500);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.service.InventoryService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the default write-behind interval, so the scheduled flush is what
+ * writes the stock. The context has its own second-level cache manager, and the
+ * test only asserts on the entries it seeds itself.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:inventory-flush;DB_CLOSE_DELAY=-1")
+class InventoryFlushTests {
+
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void scheduledFlushWritesStockAndKeepsOtherProductsCached() throws InterruptedException {
+        Long soldId = productRepository.save(new Product("Flushed product", null, new BigDecimal("5.00"), 10)).getId();
+        Long otherId = productRepository.save(new Product("Untouched product", null, new BigDecimal("5.00"), 10)).getId();
+
+        // Seed exactly the two entries this test looks at, whatever else touched the region
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Product.class, soldId);
+        cache.evict(Product.class, otherId);
+        productRepository.findById(soldId).orElseThrow();
+        productRepository.findById(otherId).orElseThrow();
+        assertThat(cache.contains(Product.class, soldId)).isTrue();
+        assertThat(cache.contains(Product.class, otherId)).isTrue();
+
+        assertThat(inventoryService.reserve(soldId, 3)).isTrue();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        // The flush evicts after its transaction commits, so wait for both
+        while ((quantity(jdbcTemplate, soldId) != 7 || cache.contains(Product.class, soldId))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(quantity(jdbcTemplate, soldId)).isEqualTo(7);
+        // Only the flushed product is evicted, so its next read sees the new quantity
+        assertThat(cache.contains(Product.class, soldId)).isFalse();
+        assertThat(cache.contains(Product.class, otherId)).isTrue();
+        assertThat(productRepository.findById(soldId).orElseThrow().getQuantity()).isEqualTo(7);
+    }
+
+    private static int quantity(JdbcTemplate jdbcTemplate, Long productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
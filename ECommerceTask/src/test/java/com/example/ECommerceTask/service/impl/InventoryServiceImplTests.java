@@ -0,0 +1,169 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.exception.ResourceNotFoundException;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.repository.ProductStockRepository;
+import com.example.ECommerceTask.service.CatalogSnapshot;
+import com.example.ECommerceTask.service.CatalogVersion;
+import com.example.ECommerceTask.service.impl.InventoryServiceImpl.StockCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryServiceImplTests {
+
+    private ProductRepository productRepository;
+    private ProductStockRepository productStockRepository;
+    private CatalogSnapshot catalogSnapshot;
+    private InventoryServiceImpl inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productStockRepository = mock(ProductStockRepository.class);
+        catalogSnapshot = mock(CatalogSnapshot.class);
+        inventoryService = new InventoryServiceImpl(productRepository, productStockRepository, catalogSnapshot,
+                new CatalogVersion(), mock(PlatformTransactionManager.class));
+    }
+
+    // ---------------- StockCounter ----------------
+
+    @Test
+    void reserveCommitAndRelease() {
+        StockCounter counter = new StockCounter(10);
+
+        assertThat(counter.tryReserve(4)).isTrue();
+        assertThat(counter.available()).isEqualTo(6);
+        assertThat(counter.reserved()).isEqualTo(4);
+
+        counter.commit(3);
+        counter.release(1);
+
+        assertThat(counter.available()).isEqualTo(7);
+        assertThat(counter.reserved()).isZero();
+        assertThat(counter.drainPending()).isEqualTo(-3);
+        assertThat(counter.drainPending()).isZero();
+    }
+
+    @Test
+    void reservationLargerThanAvailableIsRejected() {
+        StockCounter counter = new StockCounter(3);
+
+        assertThat(counter.tryReserve(4)).isFalse();
+        assertThat(counter.tryReserve(3)).isTrue();
+        assertThat(counter.tryReserve(1)).isFalse();
+
+        assertThat(counter.available()).isZero();
+        assertThat(counter.reserved()).isEqualTo(3);
+    }
+
+    @Test
+    void packedHalvesDoNotBleedIntoEachOther() {
+        StockCounter counter = new StockCounter(Integer.MAX_VALUE);
+
+        assertThat(counter.tryReserve(Integer.MAX_VALUE)).isTrue();
+        assertThat(counter.available()).isZero();
+        assertThat(counter.reserved()).isEqualTo(Integer.MAX_VALUE);
+
+        counter.release(Integer.MAX_VALUE);
+        assertThat(counter.available()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(counter.reserved()).isZero();
+    }
+
+    @Test
+    void adjustOnHandKeepsReservations() {
+        StockCounter counter = new StockCounter(10);
+        counter.tryReserve(4);
+
+        assertThat(counter.adjustOnHand(20)).isEqualTo(20);
+        assertThat(counter.available()).isEqualTo(16);
+        assertThat(counter.reserved()).isEqualTo(4);
+
+        counter.commit(4);
+        assertThat(counter.available()).isEqualTo(16);
+        assertThat(counter.drainPending()).isEqualTo(10 - 4);
+    }
+
+    @Test
+    void adjustOnHandNeverDropsBelowReserved() {
+        StockCounter counter = new StockCounter(10);
+        counter.tryReserve(4);
+
+        assertThat(counter.adjustOnHand(2)).isEqualTo(4);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.reserved()).isEqualTo(4);
+        assertThat(counter.drainPending()).isEqualTo(-6);
+    }
+
+    // ---------------- InventoryServiceImpl ----------------
+
+    @Test
+    void setQuantityBelowReservedStockIsRejected() {
+        inventoryService.register(1L, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Stays reserved until the surrounding transaction completes
+            assertThat(inventoryService.reserve(1L, 4)).isTrue();
+
+            assertThatThrownBy(() -> inventoryService.setQuantity(1L, 3))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(inventoryService.getAvailable(1L)).isEqualTo(6);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flushRetriesDeltasWhenTheWriteFails() {
+        inventoryService.register(1L, 10);
+        inventoryService.reserve(1L, 3);
+        doThrow(new IllegalStateException("database unavailable"))
+                .doNothing()
+                .when(productStockRepository).adjustQuantities(any(), any());
+
+        inventoryService.flush();
+        inventoryService.flush();
+        inventoryService.flush();
+
+        verify(productStockRepository, times(2)).adjustQuantities(List.of(1L), List.of(-3));
+    }
+
+    @Test
+    void flushDoesNotRepeatDeltasWhenRefreshingCachedStockFails() {
+        inventoryService.register(1L, 10);
+        inventoryService.reserve(1L, 3);
+        doThrow(new IllegalStateException("snapshot failure"))
+                .when(catalogSnapshot).updateQuantities(any(), any());
+
+        inventoryService.flush();
+        inventoryService.flush();
+
+        verify(productStockRepository, times(1)).adjustQuantities(List.of(1L), List.of(-3));
+    }
+
+    @Test
+    void removedProductIsNotLoadedAgain() {
+        when(productRepository.findById(2L))
+                .thenReturn(Optional.of(new Product("Removed", null, new BigDecimal("1.00"), 5)));
+
+        inventoryService.remove(2L);
+
+        assertThatThrownBy(() -> inventoryService.getAvailable(2L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
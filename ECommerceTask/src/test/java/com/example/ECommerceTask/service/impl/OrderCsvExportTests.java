@@ -0,0 +1,22 @@
+package com.example.ECommerceTask.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderCsvExportTests {
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertThat(OrderServiceImpl.csvField("Laptop")).isEqualTo("Laptop");
+        assertThat(OrderServiceImpl.csvField(null)).isEmpty();
+    }
+
+    @Test
+    void separatorsQuotesAndLineBreaksAreQuoted() {
+        assertThat(OrderServiceImpl.csvField("Laptop, 15\"")).isEqualTo("\"Laptop, 15\"\"\"");
+        assertThat(OrderServiceImpl.csvField("two\nlines")).isEqualTo("\"two\nlines\"");
+        assertThat(OrderServiceImpl.csvField("carriage\rreturn")).isEqualTo("\"carriage\rreturn\"");
+        assertThat(OrderServiceImpl.csvField("windows\r\nline")).isEqualTo("\"windows\r\nline\"");
+    }
+}
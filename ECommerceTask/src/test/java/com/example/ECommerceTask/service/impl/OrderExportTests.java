@@ -0,0 +1,167 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.domain.Entity.User;
+import com.example.ECommerceTask.domain.Enums.ExportFormat;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.dto.order.OrderItemRequest;
+import com.example.ECommerceTask.dto.order.OrderRequest;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.repository.UserRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.example.ECommerceTask.service.OrderService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV export against the database, with a chunk size small enough that every
+ * export spans several chunks and detaches the persistence context in between.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-export;DB_CLOSE_DELAY=-1",
+        "orders.export.chunk-size=2"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderExportTests {
+
+    private static final String PRODUCT_NAME = "Desk, \"oak\"\nlarge";
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> oldOrderIds = new ArrayList<>();
+    private final List<Long> recentOrderIds = new ArrayList<>();
+
+    @BeforeAll
+    void placeOrders() {
+        User user = userRepository.save(new User("export-user", "password", Role.USER));
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                "export-token", Instant.now(), Instant.now().plusSeconds(3600));
+        Long productId = productRepository.save(new Product(PRODUCT_NAME, null, new BigDecimal("25.00"), 100)).getId();
+
+        for (int i = 0; i < 5; i++) {
+            Long orderId = orderService.create(order(productId, i + 1), principal).getId();
+            (i < 2 ? oldOrderIds : recentOrderIds).add(orderId);
+        }
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id IN (?, ?)",
+                Timestamp.valueOf(CUTOFF.minusYears(1)), oldOrderIds.get(0), oldOrderIds.get(1));
+    }
+
+    @Test
+    void everyOrderIsExportedAcrossChunks() throws Exception {
+        List<List<String>> rows = exportCsv(null);
+
+        assertThat(rows.get(0)).first().isEqualTo("order_id");
+        List<List<String>> orders = rows.subList(1, rows.size());
+        assertThat(orders).hasSize(5);
+        assertThat(orders).extracting(row -> Long.valueOf(row.get(0)))
+                .containsExactlyInAnyOrderElementsOf(allOrderIds());
+        assertThat(orders).extracting(row -> row.get(7)).containsExactlyInAnyOrder("1", "2", "3", "4", "5");
+    }
+
+    @Test
+    void sinceLeavesOutOlderOrders() throws Exception {
+        List<List<String>> rows = exportCsv(CUTOFF);
+
+        assertThat(rows.subList(1, rows.size())).extracting(row -> Long.valueOf(row.get(0)))
+                .containsExactlyInAnyOrderElementsOf(recentOrderIds);
+    }
+
+    @Test
+    void fieldsWithSeparatorsQuotesAndLineBreaksRoundTrip() throws Exception {
+        String csv = export(CUTOFF);
+
+        assertThat(csv).contains(",\"Desk, \"\"oak\"\"\nlarge\",");
+        List<List<String>> rows = parseCsv(csv);
+        for (List<String> row : rows.subList(1, rows.size())) {
+            assertThat(row).hasSize(11);
+            assertThat(row.get(6)).isEqualTo(PRODUCT_NAME);
+        }
+    }
+
+    private List<Long> allOrderIds() {
+        List<Long> ids = new ArrayList<>(oldOrderIds);
+        ids.addAll(recentOrderIds);
+        return ids;
+    }
+
+    private List<List<String>> exportCsv(LocalDateTime since) throws Exception {
+        return parseCsv(export(since));
+    }
+
+    private String export(LocalDateTime since) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        orderService.exportOrders(since, ExportFormat.CSV, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Splits RFC 4180 text into records, so quoted line breaks stay inside their field.
+     */
+    private static List<List<String>> parseCsv(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        return records;
+    }
+
+    private static OrderRequest order(Long productId, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
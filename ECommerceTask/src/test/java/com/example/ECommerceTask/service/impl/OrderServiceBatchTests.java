@@ -0,0 +1,100 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.domain.Entity.User;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.dto.order.BatchOrderResponse;
+import com.example.ECommerceTask.dto.order.BatchOrderResult;
+import com.example.ECommerceTask.dto.order.OrderItemRequest;
+import com.example.ECommerceTask.dto.order.OrderRequest;
+import com.example.ECommerceTask.exception.ResourceNotFoundException;
+import com.example.ECommerceTask.repository.OrderRepository;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.repository.UserRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.example.ECommerceTask.service.InventoryService;
+import com.example.ECommerceTask.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-batch;DB_CLOSE_DELAY=-1")
+class OrderServiceBatchTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Test
+    void rejectedOrdersDoNotStopTheRestOfTheBatch() {
+        User user = userRepository.save(new User("batch-user", "password", Role.USER));
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                "batch-token", Instant.now(), Instant.now().plusSeconds(3600));
+        Long productId = productRepository.save(new Product("Batch product", null, new BigDecimal("10.00"), 5)).getId();
+        long ordersBefore = orderRepository.count();
+
+        BatchOrderResponse response = orderService.createBatch(List.of(
+                order(productId, 2),
+                order(Long.MAX_VALUE, 1),
+                order(productId, 10),
+                order(productId, 3)
+        ), principal);
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchOrderResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(response.getResults()).extracting(BatchOrderResult::getStatus).containsExactly(
+                BatchOrderResult.CREATED, BatchOrderResult.REJECTED, BatchOrderResult.REJECTED, BatchOrderResult.CREATED);
+        assertThat(response.getResults().get(0).getOrder().getId()).isNotNull();
+        assertThat(response.getResults().get(1).getError()).isNotBlank();
+
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 2);
+        assertThat(inventoryService.getAvailable(productId)).isZero();
+    }
+
+    @Test
+    void ordersForADeletedUserAreNotFound() {
+        User user = userRepository.save(new User("deleted-user", "password", Role.USER));
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                "deleted-token", Instant.now(), Instant.now().plusSeconds(3600));
+        Long productId = productRepository.save(new Product("Orphan product", null, new BigDecimal("10.00"), 5)).getId();
+        userRepository.delete(user);
+
+        assertThatThrownBy(() -> orderService.create(order(productId, 1), principal))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("User not found");
+        assertThatThrownBy(() -> orderService.createBatch(List.of(order(productId, 1)), principal))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("User not found");
+
+        // Both transactions rolled back, so the stock is still available
+        assertThat(inventoryService.getAvailable(productId)).isEqualTo(5);
+    }
+
+    private static OrderRequest order(Long productId, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
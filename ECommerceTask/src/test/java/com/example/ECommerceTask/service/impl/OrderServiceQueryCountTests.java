@@ -0,0 +1,89 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.domain.Entity.User;
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.dto.order.OrderItemRequest;
+import com.example.ECommerceTask.dto.order.OrderRequest;
+import com.example.ECommerceTask.dto.order.OrderResponse;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.repository.UserRepository;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.example.ECommerceTask.service.InventoryService;
+import com.example.ECommerceTask.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-query-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderServiceQueryCountTests {
+
+    private static final int LINE_ITEMS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createLoadsAllProductsInOneQuery() {
+        User user = userRepository.save(new User("query-count-user", "password", Role.USER));
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                "query-count-token", Instant.now(), Instant.now().plusSeconds(3600));
+
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < LINE_ITEMS; i++) {
+            Product product = productRepository.save(
+                    new Product("Product " + i, null, new BigDecimal("10.00"), 100));
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(product.getId());
+            item.setQuantity(2);
+            items.add(item);
+        }
+        OrderRequest request = new OrderRequest();
+        request.setItems(items);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderResponse response = orderService.create(request, principal);
+
+        assertThat(response.getItems()).hasSize(LINE_ITEMS);
+        // Every product is resolved up front (from the database or the second-level cache),
+        // the user comes from the principal and nothing is fetched lazily
+        assertThat(statistics.getEntityLoadCount() + statistics.getSecondLevelCacheHitCount())
+                .isEqualTo(LINE_ITEMS);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(response.getUsername()).isEqualTo("query-count-user");
+        // Product select, version check, the order insert and one insert per line item;
+        // stock is written behind
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3 + LINE_ITEMS);
+
+        inventoryService.flush();
+        Long firstProductId = items.get(0).getProductId();
+        assertThat(productRepository.findById(firstProductId).orElseThrow().getQuantity()).isEqualTo(98);
+    }
+}
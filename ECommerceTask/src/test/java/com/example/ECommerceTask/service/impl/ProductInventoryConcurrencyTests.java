@@ -0,0 +1,89 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Entity.Product;
+import com.example.ECommerceTask.repository.ProductRepository;
+import com.example.ECommerceTask.service.InventoryService;
+import com.example.ECommerceTask.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:inventory-concurrency;DB_CLOSE_DELAY=-1")
+class ProductInventoryConcurrencyTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductInventoryConcurrencyTests.class);
+
+    private static final int INITIAL_STOCK = 500;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        Long productId = productRepository.save(
+                new Product("Flash sale item", null, new BigDecimal("9.99"), INITIAL_STOCK)).getId();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        productService.decreaseInventory(productId, 1);
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("Inventory contention: {} attempts in {} ms ({} ops/s), {} succeeded, {} rejected",
+                attempts, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(attempts / (elapsedNanos / 1_000_000_000.0)), succeeded.get(), rejected.get());
+
+        assertThat(succeeded.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(attempts - INITIAL_STOCK);
+        assertThat(inventoryService.getAvailable(productId)).isZero();
+
+        inventoryService.flush();
+        assertThat(productRepository.findById(productId).orElseThrow().getQuantity()).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ECommerceTask.service.impl;
+
+import com.example.ECommerceTask.domain.Enums.Role;
+import com.example.ECommerceTask.dto.user.UserRequest;
+import com.example.ECommerceTask.dto.user.UserResponse;
+import com.example.ECommerceTask.security.AuthenticatedUser;
+import com.example.ECommerceTask.service.TokenRevocationService;
+import com.example.ECommerceTask.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-token-revocation;DB_CLOSE_DELAY=-1")
+class UserTokenRevocationTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void roleChangeRevokesEarlierTokens() {
+        UserResponse user = userService.create(request("role-change-user", "password", Role.USER));
+        AuthenticatedUser token = tokenIssuedEarlier(user);
+
+        userService.update(user.getId(), request("role-change-user", null, Role.ADMIN));
+
+        assertThat(tokenRevocationService.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void passwordChangeRevokesEarlierTokens() {
+        UserResponse user = userService.create(request("password-change-user", "password", Role.USER));
+        AuthenticatedUser token = tokenIssuedEarlier(user);
+
+        userService.update(user.getId(), request("password-change-user", "new-password", Role.USER));
+
+        assertThat(tokenRevocationService.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void unchangedCredentialsKeepTokensValid() {
+        UserResponse user = userService.create(request("unchanged-user", "password", Role.USER));
+        AuthenticatedUser token = tokenIssuedEarlier(user);
+
+        userService.update(user.getId(), request("unchanged-user", "", Role.USER));
+
+        assertThat(tokenRevocationService.isRevoked(token)).isFalse();
+    }
+
+    @Test
+    void deleteRevokesTokensAfterTheUserIsGone() {
+        UserResponse user = userService.create(request("deleted-token-user", "password", Role.USER));
+        AuthenticatedUser token = tokenIssuedEarlier(user);
+
+        userService.delete(user.getId());
+
+        assertThat(tokenRevocationService.isRevoked(token)).isTrue();
+        // The cutoff row outlives the user and is picked up by the rebuilt filter
+        tokenRevocationService.rebuild();
+        assertThat(tokenRevocationService.isRevoked(token)).isTrue();
+    }
+
+    private static AuthenticatedUser tokenIssuedEarlier(UserResponse user) {
+        // iat has second precision, so the token is dated clearly before the cutoff
+        Instant issuedAt = Instant.now().minusSeconds(5);
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                user.getUsername() + "-token", issuedAt, issuedAt.plusSeconds(3600));
+    }
+
+    private static UserRequest request(String username, String password, Role role) {
+        UserRequest request = new UserRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        request.setRole(role);
+        return request;
+    }
+}
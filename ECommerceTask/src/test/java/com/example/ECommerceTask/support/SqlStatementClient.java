@@ -0,0 +1,90 @@
+package com.example.ECommerceTask.support;
+
+import com.example.ECommerceTask.monitoring.SqlStatementCountFilter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HTTP client for tests against the running application that reads back how
+ * many SQL statements each request prepared, from the
+ * {@link SqlStatementCountFilter#STATEMENTS_HEADER} header.
+ * <p>
+ * Typical use is a statement budget per endpoint:
+ * <pre>{@code
+ * SqlStatementClient.assertAtMost(client.get("/api/orders/my-orders", token), 4);
+ * }</pre>
+ */
+public final class SqlStatementClient {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final String baseUrl;
+
+    public SqlStatementClient(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public Response get(String path, String token) {
+        return send(request(path, token).GET().build());
+    }
+
+    public Response post(String path, String json, String token) {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    /**
+     * Asserts the request succeeded, reported its statement count and prepared no
+     * more than {@code maxStatements} statements.
+     */
+    public static Response assertAtMost(Response response, int maxStatements) {
+        assertThat(response.status()).as("status of %s", response.path()).isBetween(200, 299);
+        assertThat(response.statements())
+                .as("%s header of %s", SqlStatementCountFilter.STATEMENTS_HEADER, response.path())
+                .isNotNegative();
+        assertThat(response.statements())
+                .as("SQL statements for %s", response.path())
+                .isLessThanOrEqualTo(maxStatements);
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            Optional<String> statements = response.headers().firstValue(SqlStatementCountFilter.STATEMENTS_HEADER);
+            JsonNode body = response.body().isEmpty() ? null : jsonMapper.readTree(response.body());
+            return new Response(request.uri().getPath(), response.statusCode(),
+                    statements.map(Integer::parseInt).orElse(-1), body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Request to " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling " + request.uri(), e);
+        }
+    }
+
+    /**
+     * @param statements SQL statements prepared for the request, or -1 if the header was missing
+     */
+    public record Response(String path, int status, int statements, JsonNode body) {
+    }
+}